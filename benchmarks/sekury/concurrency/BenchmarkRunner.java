@@ -0,0 +1,51 @@
+package sekury.concurrency;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the selected benchmarks at 1, 2, 4, ... up to {@code maxThreads} threads and writes one JSON result file
+ * per thread count, tagged with the JDK version, so results can be compared across JDK upgrades.
+ * <p>
+ * Usage: {@code java -jar target/benchmarks.jar [include-regex] [max-threads] [output-dir]}
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "sekury.concurrency.*";
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        File outputDir = new File(args.length > 2 ? args[2] : "target/jmh");
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + outputDir);
+        }
+
+        String jdk = System.getProperty("java.version");
+        for (int threads : threadCounts(maxThreads)) {
+            File result = new File(outputDir, String.format("jmh-jdk%s-%dt.json", jdk, threads));
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(result.getPath())
+                    .build();
+            new Runner(options).run();
+            System.out.printf("Results for %d thread(s) written to %s%n", threads, result);
+        }
+    }
+
+    static List<Integer> threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(Math.max(1, maxThreads));
+        return counts;
+    }
+}
@@ -0,0 +1,56 @@
+package sekury.concurrency.counters;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CounterBenchmark {
+
+    @Param({"synchronized", "atomic", "adder", "striped"})
+    public String counterType;
+
+    private Counter counter;
+    private final Sequence atomicSequence = new AtomicCounter();
+    private final Sequence blockSequence = new BlockSequence();
+
+    @Setup
+    public void setUp() {
+        switch (counterType) {
+            case "synchronized":
+                counter = new SynchronizedCounter();
+                break;
+            case "atomic":
+                counter = new AtomicCounter();
+                break;
+            case "adder":
+                counter = new LongAdderCounter();
+                break;
+            case "striped":
+                counter = new StripedCounter();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown counter: " + counterType);
+        }
+    }
+
+    @Benchmark
+    public void increment() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public long atomicSequence() {
+        return atomicSequence.getNext();
+    }
+
+    @Benchmark
+    public long blockSequence() {
+        return blockSequence.getNext();
+    }
+}
@@ -0,0 +1,49 @@
+package sekury.concurrency.deadlock;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Overhead of lock order tracking on a nested acquisition whose order has already been recorded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LockOrderDetectorBenchmark {
+
+    @Param({"plain", "detector", "detector-disabled"})
+    public String lockType;
+
+    private Lock outer;
+    private Lock inner;
+
+    @Setup
+    public void setUp() {
+        if (lockType.equals("plain")) {
+            outer = new ReentrantLock();
+            inner = new ReentrantLock();
+        } else {
+            LockOrderDetector detector = new LockOrderDetector();
+            detector.setEnabled(!lockType.equals("detector-disabled"));
+            outer = detector.newLock("outer");
+            inner = detector.newLock("inner");
+        }
+    }
+
+    @Benchmark
+    public void nested() {
+        outer.lock();
+        try {
+            inner.lock();
+            inner.unlock();
+        } finally {
+            outer.unlock();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package sekury.concurrency.essentials;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonitorBenchmark {
+
+    private final Object lock = new Object();
+    private int counter;
+
+    private static int staticCounter;
+
+    @Benchmark
+    public int synchronizedBlock() {
+        synchronized (lock) {
+            return ++counter;
+        }
+    }
+
+    @Benchmark
+    public int synchronizedMethod() {
+        return next();
+    }
+
+    @Benchmark
+    public int staticSynchronizedMethod() {
+        return nextStatic();
+    }
+
+    private synchronized int next() {
+        return ++counter;
+    }
+
+    private static synchronized int nextStatic() {
+        return ++staticCounter;
+    }
+}
@@ -0,0 +1,69 @@
+package sekury.concurrency.exchangers;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.Exchanger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Swap of two preallocated int batches between a producer and a consumer, {@link SpinExchanger} against
+ * {@link Exchanger}. Run with {@code -prof gc} to compare allocation per swap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class DoubleBufferBenchmark {
+
+    private static final long TIMEOUT_MILLIS = 100;
+
+    @Param({"1024"})
+    public int batchSize;
+
+    private final SpinExchanger<IntBatch> spinExchanger = new SpinExchanger<>();
+    private final Exchanger<IntBatch> exchanger = new Exchanger<>();
+
+    @State(Scope.Thread)
+    public static class Side {
+        IntBatch batch;
+
+        @Setup
+        public void setUp(DoubleBufferBenchmark benchmark) {
+            batch = new IntBatch(benchmark.batchSize);
+        }
+    }
+
+    @Benchmark
+    @Group("spin")
+    @GroupThreads(2)
+    public IntBatch spinExchanger(Side side, Control control) throws InterruptedException {
+        while (!control.stopMeasurement) {
+            try {
+                side.batch = spinExchanger.exchange(side.batch, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                break;
+            } catch (TimeoutException e) {
+                // re-check whether the measurement is over
+            }
+        }
+        return side.batch;
+    }
+
+    @Benchmark
+    @Group("juc")
+    @GroupThreads(2)
+    public IntBatch exchanger(Side side, Control control) throws InterruptedException {
+        while (!control.stopMeasurement) {
+            try {
+                side.batch = exchanger.exchange(side.batch, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                break;
+            } catch (TimeoutException e) {
+                // re-check whether the measurement is over
+            }
+        }
+        return side.batch;
+    }
+}
@@ -0,0 +1,108 @@
+package sekury.concurrency.executors;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.*;
+
+/**
+ * Runs batches of CPU-bound, blocking or mixed tasks on pools sized up front and on an {@link ElasticExecutor}
+ * that sizes itself. A fixed pool with one thread per core is right for CPU-bound work only, a cached pool starts a
+ * thread for every blocked task. The {@code completed} counter is the task throughput to compare; tasks the
+ * elastic pool sheds show up as {@code rejected} instead.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ElasticExecutorBenchmark {
+
+    private static final int BATCH = 200;
+
+    @Param({"fixed-n", "cached", "elastic"})
+    public String executorType;
+
+    @Param({"cpu", "io", "mixed"})
+    public String workload;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        switch (executorType) {
+            case "fixed-n":
+                executor = Executors.newFixedThreadPool(cores);
+                break;
+            case "cached":
+                executor = Executors.newCachedThreadPool();
+                break;
+            case "elastic":
+                executor = new ElasticExecutor(1, 256);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown executor: " + executorType);
+        }
+        switch (workload) {
+            case "cpu":
+            case "io":
+            case "mixed":
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown workload: " + workload);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Tasks {
+        public long completed;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            completed = 0;
+            rejected = 0;
+        }
+    }
+
+    @Benchmark
+    public void runBatch(Tasks tasks) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(BATCH);
+        int rejected = 0;
+        for (int i = 0; i < BATCH; i++) {
+            boolean blocking = workload.equals("io") || workload.equals("mixed") && (i & 1) == 0;
+            try {
+                executor.execute(() -> {
+                    if (blocking) {
+                        sleep(1);
+                    } else {
+                        Blackhole.consumeCPU(10_000);
+                    }
+                    done.countDown();
+                });
+            } catch (RejectedExecutionException e) {
+                rejected++;
+                done.countDown();
+            }
+        }
+        done.await();
+        tasks.completed += BATCH - rejected;
+        tasks.rejected += rejected;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package sekury.concurrency.executors;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Latency of submitting a trivial task and waiting for its result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutorBenchmark {
+
+    @Param({"direct", "fixed-1", "fixed-n", "cached"})
+    public String executorType;
+
+    private Executor executor;
+
+    @Setup
+    public void setUp() {
+        switch (executorType) {
+            case "direct":
+                executor = new ExecutorDemo.DirectExecutor();
+                break;
+            case "fixed-1":
+                executor = Executors.newFixedThreadPool(1);
+                break;
+            case "fixed-n":
+                executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+                break;
+            case "cached":
+                executor = Executors.newCachedThreadPool();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown executor: " + executorType);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public Integer submitAndGet() throws ExecutionException, InterruptedException {
+        FutureTask<Integer> task = new FutureTask<>(() -> 42);
+        executor.execute(task);
+        return task.get();
+    }
+}
@@ -0,0 +1,74 @@
+package sekury.concurrency.executors;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fine-grained tasks on {@link WorkStealingExecutor}, a fixed {@link ThreadPoolExecutor} and {@link ForkJoinPool}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkStealingBenchmark {
+
+    @Param({"work-stealing", "thread-pool", "fork-join"})
+    public String executorType;
+
+    @Param({"1024"})
+    public int tasks;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        switch (executorType) {
+            case "work-stealing":
+                executor = new WorkStealingExecutor(parallelism);
+                break;
+            case "thread-pool":
+                executor = Executors.newFixedThreadPool(parallelism);
+                break;
+            case "fork-join":
+                executor = new ForkJoinPool(parallelism);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown executor: " + executorType);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Tasks submitted from outside the pool.
+     */
+    @Benchmark
+    public void externalSubmit() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(done::countDown);
+        }
+        done.await();
+    }
+
+    /**
+     * Tasks spawned by tasks already running in the pool, as a binary tree with {@code tasks} leaves.
+     */
+    @Benchmark
+    public long forkTree() throws InterruptedException {
+        int depth = Integer.numberOfTrailingZeros(Integer.highestOneBit(tasks));
+        AtomicLong leaves = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(1 << depth);
+        executor.execute(new WorkStealingDemo.Fork(executor, depth, leaves, done));
+        done.await();
+        return leaves.get();
+    }
+}
@@ -0,0 +1,92 @@
+package sekury.concurrency.flow;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Items per second through a {@link BoundedPublisher} and the latency of a single item until it is delivered or
+ * dropped, with a fast subscriber and with one that burns CPU on every item.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlowBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"DROP", "LATEST", "BLOCK"})
+    public OverflowPolicy policy;
+
+    @Param({"fast", "slow"})
+    public String subscriberType;
+
+    private final AtomicLong received = new AtomicLong();
+    private ExecutorService executor;
+    private BoundedPublisher<Long> publisher;
+    private DemandSubscriber<Long> subscriber;
+    private long published;
+
+    @Setup
+    public void setUp() {
+        long tokens;
+        switch (subscriberType) {
+            case "fast":
+                tokens = 0;
+                break;
+            case "slow":
+                tokens = 500;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown subscriber: " + subscriberType);
+        }
+        executor = Executors.newFixedThreadPool(2);
+        publisher = new BoundedPublisher<>(executor, 256, 64, policy);
+        subscriber = new DemandSubscriber<>(64, item -> {
+            Blackhole.consumeCPU(tokens);
+            received.lazySet(received.get() + 1);
+        });
+        publisher.subscribe(subscriber);
+        while (publisher.getNumberOfSubscribers() == 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        publisher.close();
+        subscriber.getCompletion().get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(BATCH)
+    public void throughput() {
+        for (int i = 0; i < BATCH; i++) {
+            publisher.submit(published + i);
+        }
+        published += BATCH;
+        awaitAccounted();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void latency() {
+        publisher.submit(published++);
+        awaitAccounted();
+    }
+
+    private void awaitAccounted() {
+        while (received.get() + publisher.getDroppedCount() < published) {
+            Thread.onSpinWait();
+        }
+    }
+}
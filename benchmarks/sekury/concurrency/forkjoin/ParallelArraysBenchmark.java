@@ -0,0 +1,80 @@
+package sekury.concurrency.forkjoin;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link ParallelArrays} against the JDK's parallel array operations. Larger inputs need a larger heap, e.g.
+ * {@code -p size=1000000000 -jvmArgs -Xmx16g}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelArraysBenchmark {
+
+    @Param({"10000000"})
+    public int size;
+
+    private final ParallelArrays parallel = new ParallelArrays();
+    private int[] data;
+    private int[] scratch;
+
+    @Setup
+    public void setUp() {
+        data = ThreadLocalRandom.current().ints(size).toArray();
+        scratch = new int[size];
+    }
+
+    @Benchmark
+    public long sum() {
+        return parallel.sum(data);
+    }
+
+    @Benchmark
+    public long sumIntStream() {
+        return IntStream.of(data).parallel().asLongStream().sum();
+    }
+
+    @Benchmark
+    public int[] map() {
+        return parallel.map(data, x -> x * 31 + 7);
+    }
+
+    @Benchmark
+    public int[] mapIntStream() {
+        return IntStream.of(data).parallel().map(x -> x * 31 + 7).toArray();
+    }
+
+    @Benchmark
+    public int[] scan() {
+        parallel.scan(data, Integer::sum);
+        return data;
+    }
+
+    @Benchmark
+    public int[] scanParallelPrefix() {
+        Arrays.parallelPrefix(data, Integer::sum);
+        return data;
+    }
+
+    @Benchmark
+    public int[] sort() {
+        System.arraycopy(data, 0, scratch, 0, size);
+        parallel.sort(scratch);
+        return scratch;
+    }
+
+    @Benchmark
+    public int[] sortParallelSort() {
+        System.arraycopy(data, 0, scratch, 0, size);
+        Arrays.parallelSort(scratch);
+        return scratch;
+    }
+}
@@ -0,0 +1,210 @@
+package sekury.concurrency.ipc;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages between two threads through a pair of {@link MappedQueue}s and through a loopback TCP connection. The
+ * peer thread counts every message and echoes those marked as requests. {@code roundTrip} measures the latency of
+ * one echoed message, {@code stream} the throughput of one-way messages. The peer runs in the same JVM, but both
+ * transports are the ones two processes would use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappedQueueBenchmark {
+
+    private static final int MESSAGE_SIZE = 64;
+    private static final int BATCH = 1000;
+    private static final byte ONE_WAY = 0;
+    private static final byte REQUEST = 1;
+
+    @Param({"mapped", "socket"})
+    public String transport;
+
+    private Transport client;
+    private Transport server;
+    private Thread peer;
+    private volatile long received;
+    private long sent;
+    private final ByteBuffer message = ByteBuffer.allocateDirect(MESSAGE_SIZE);
+    private final ByteBuffer reply = ByteBuffer.allocateDirect(MESSAGE_SIZE);
+
+    @Setup
+    public void setUp() throws IOException {
+        switch (transport) {
+            case "mapped":
+                Path requests = Files.createTempFile("requests", ".dat");
+                Path responses = Files.createTempFile("responses", ".dat");
+                MappedQueue requestQueue = MappedQueue.create(requests, 1 << 20);
+                MappedQueue responseQueue = MappedQueue.create(responses, 1 << 20);
+                client = new MappedTransport(requestQueue, MappedQueue.open(responses), requests, responses);
+                server = new MappedTransport(responseQueue, MappedQueue.open(requests), null, null);
+                break;
+            case "socket":
+                try (ServerSocketChannel listener = ServerSocketChannel.open()) {
+                    listener.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                    SocketChannel clientChannel = SocketChannel.open(listener.getLocalAddress());
+                    SocketChannel serverChannel = listener.accept();
+                    client = new SocketTransport(clientChannel);
+                    server = new SocketTransport(serverChannel);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown transport: " + transport);
+        }
+        peer = new Thread(this::serve, "peer");
+        peer.setDaemon(true);
+        peer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, InterruptedException {
+        peer.interrupt();
+        peer.join();
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public long roundTrip() throws IOException {
+        message.clear();
+        message.put(0, REQUEST).limit(MESSAGE_SIZE);
+        client.send(message);
+        sent++;
+        reply.clear();
+        client.receive(reply);
+        return reply.getLong(8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long stream() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            message.clear();
+            message.put(0, ONE_WAY).putLong(8, i).limit(MESSAGE_SIZE);
+            client.send(message);
+        }
+        sent += BATCH;
+        while (received < sent) {
+            Thread.yield();
+        }
+        return received;
+    }
+
+    private void serve() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(MESSAGE_SIZE);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                buffer.clear();
+                if (!server.receive(buffer)) {
+                    return;
+                }
+                if (buffer.get(0) == REQUEST) {
+                    buffer.flip();
+                    server.send(buffer);
+                }
+                received++; // only this thread writes
+            }
+        } catch (IOException e) {
+            // closed during tear down
+        }
+    }
+
+    interface Transport {
+        void send(ByteBuffer message) throws IOException;
+
+        /**
+         * Fills {@code buffer} with one message, waiting for it. Returns false if interrupted.
+         */
+        boolean receive(ByteBuffer buffer) throws IOException;
+
+        void close() throws IOException;
+    }
+
+    static final class MappedTransport implements Transport {
+        private final MappedQueue out;
+        private final MappedQueue in;
+        private final Path[] files;
+
+        MappedTransport(MappedQueue out, MappedQueue in, Path... files) {
+            this.out = out;
+            this.in = in;
+            this.files = files;
+        }
+
+        @Override
+        public void send(ByteBuffer message) {
+            while (!out.offer(message)) {
+                Thread.yield();
+            }
+        }
+
+        @Override
+        public boolean receive(ByteBuffer buffer) {
+            while (!in.poll(buffer::put)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                Thread.yield();
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+            in.close();
+            for (Path file : files) {
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    static final class SocketTransport implements Transport {
+        private final SocketChannel channel;
+
+        SocketTransport(SocketChannel channel) throws IOException {
+            this.channel = channel;
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        }
+
+        @Override
+        public void send(ByteBuffer message) throws IOException {
+            while (message.hasRemaining()) {
+                channel.write(message);
+            }
+        }
+
+        @Override
+        public boolean receive(ByteBuffer buffer) throws IOException {
+            buffer.limit(MESSAGE_SIZE);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
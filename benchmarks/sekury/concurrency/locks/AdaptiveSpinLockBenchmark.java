@@ -0,0 +1,71 @@
+package sekury.concurrency.locks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock handoff cost at different critical-section lengths, {@code work} being JMH CPU tokens spent while holding
+ * the lock. Run with several threads, e.g. {@code -t 4}, to see contended behaviour.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdaptiveSpinLockBenchmark {
+
+    @Param({"adaptive", "adaptiveFair", "reentrant", "reentrantFair", "synchronized"})
+    public String lock;
+
+    @Param({"0", "50", "500"})
+    public int work;
+
+    private final Object monitor = new Object();
+    private Lock impl;
+    private int value;
+
+    @Setup
+    public void setUp() {
+        switch (lock) {
+            case "adaptive":
+                impl = new AdaptiveSpinLock(false);
+                break;
+            case "adaptiveFair":
+                impl = new AdaptiveSpinLock(true);
+                break;
+            case "reentrant":
+                impl = new ReentrantLock(false);
+                break;
+            case "reentrantFair":
+                impl = new ReentrantLock(true);
+                break;
+            case "synchronized":
+                impl = null;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown lock: " + lock);
+        }
+    }
+
+    @Benchmark
+    public int criticalSection() {
+        if (impl == null) {
+            synchronized (monitor) {
+                Blackhole.consumeCPU(work);
+                return ++value;
+            }
+        }
+        impl.lock();
+        try {
+            Blackhole.consumeCPU(work);
+            return ++value;
+        } finally {
+            impl.unlock();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package sekury.concurrency.locks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LockBenchmark {
+
+    @Param({"false", "true"})
+    public boolean fair;
+
+    private final Object monitor = new Object();
+    private ReentrantLock lock;
+    private ReentrantReadWriteLock readWriteLock;
+    private int value;
+
+    @Setup
+    public void setUp() {
+        lock = new ReentrantLock(fair);
+        readWriteLock = new ReentrantReadWriteLock(fair);
+    }
+
+    @Benchmark
+    public int monitor() {
+        synchronized (monitor) {
+            return ++value;
+        }
+    }
+
+    @Benchmark
+    public int reentrantLock() {
+        lock.lock();
+        try {
+            return ++value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Benchmark
+    public int readLock() {
+        ReentrantReadWriteLock.ReadLock readLock = readWriteLock.readLock();
+        readLock.lock();
+        try {
+            return value;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Benchmark
+    public int writeLock() {
+        ReentrantReadWriteLock.WriteLock writeLock = readWriteLock.writeLock();
+        writeLock.lock();
+        try {
+            return ++value;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
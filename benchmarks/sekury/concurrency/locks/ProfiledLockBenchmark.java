@@ -0,0 +1,41 @@
+package sekury.concurrency.locks;
+
+import org.openjdk.jmh.annotations.*;
+import sekury.concurrency.monitoring.ProfiledLock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Overhead of wait/hold time profiling over a plain {@link ReentrantLock}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProfiledLockBenchmark {
+
+    @Param({"reentrant", "profiled"})
+    public String lockType;
+
+    private Lock lock;
+    private int value;
+
+    @Setup
+    public void setUp() {
+        lock = lockType.equals("profiled") ? new ProfiledLock("benchmark") : new ReentrantLock();
+    }
+
+    @Benchmark
+    public int lockUnlock() {
+        lock.lock();
+        try {
+            return ++value;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package sekury.concurrency.locks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed reads and writes on a {@link ReadMostlyList}, each operation is a read with probability
+ * {@code readPercent}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadMostlyBenchmark {
+
+    private static final int SIZE = 64;
+
+    @Param({"READ_WRITE_LOCK", "STAMPED_LOCK", "SEQLOCK", "COPY_ON_WRITE"})
+    public ReadMostlyList.Strategy strategy;
+
+    @Param({"50", "90", "99", "100"})
+    public int readPercent;
+
+    private ReadMostlyList<Integer> list;
+
+    @Setup
+    public void setUp() {
+        list = ReadMostlyList.create(strategy);
+        for (int i = 0; i < SIZE; i++) {
+            list.add(i);
+        }
+    }
+
+    @Benchmark
+    public Integer mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(SIZE);
+        if (random.nextInt(100) < readPercent) {
+            return list.get(index);
+        }
+        return list.set(index, index);
+    }
+}
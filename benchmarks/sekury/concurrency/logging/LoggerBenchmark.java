@@ -0,0 +1,89 @@
+package sekury.concurrency.logging;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages per second from two logging threads, formatting with {@code printf} on a shared {@link PrintStream} or
+ * only recording the arguments with {@link AsyncLogger}. Both write to a temporary file. The writer of the
+ * {@code AsyncLogger} cannot format as fast as two threads log, so the {@code logged} and {@code dropped}
+ * counters show how many calls actually made it into a buffer; only {@code logged} compares with {@code printf}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(2)
+@State(Scope.Benchmark)
+public class LoggerBenchmark {
+
+    @Param({"printStream", "asyncLogger"})
+    public String loggerType;
+
+    private Path file;
+    private PrintStream out;
+    private AsyncLogger logger;
+    private int template;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counter {
+        long value;
+        public long logged;
+        public long dropped;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            logged = 0;
+            dropped = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("bench", ".log");
+        switch (loggerType) {
+            case "printStream":
+                out = new PrintStream(new BufferedOutputStream(new FileOutputStream(file.toFile()), 64 * 1024));
+                break;
+            case "asyncLogger":
+                logger = new AsyncLogger(file, 1 << 16);
+                template = logger.template("request {} took {} us");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown logger: " + loggerType);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (out != null) {
+            out.close();
+        } else {
+            logger.close();
+        }
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public void log(Counter counter) {
+        long value = counter.value++;
+        if (out != null) {
+            out.printf("%d [%s] request %d took %d us%n", System.currentTimeMillis(),
+                    Thread.currentThread().getName(), value, value & 1023);
+            counter.logged++;
+        } else if (logger.log(template, value, value & 1023)) {
+            counter.logged++;
+        } else {
+            counter.dropped++;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package sekury.concurrency.pipeline;
+
+import org.openjdk.jmh.annotations.*;
+import sekury.concurrency.queues.WaitStrategy;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Moves a batch of events through three dependent stages, either over the ring with sequence barriers or over a
+ * chain of {@link ArrayBlockingQueue}s with one thread per stage and a new event object per item.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    private static final int BATCH = 4096;
+
+    static class Event {
+        long value;
+    }
+
+    @Param({"pipeline", "queues"})
+    public String pipelineType;
+
+    private final AtomicLong done = new AtomicLong();
+    private long published;
+
+    private Pipeline<Event> pipeline;
+    private BlockingQueue<Event> first;
+    private Thread[] workers;
+
+    @Setup
+    public void setUp() {
+        switch (pipelineType) {
+            case "pipeline":
+                pipeline = new Pipeline<>(Event::new, 1024, WaitStrategy.yielding());
+                pipeline.handleWith((e, s, end) -> e.value++)
+                        .then((e, s, end) -> e.value *= 3)
+                        .then((e, s, end) -> {
+                            if (end) {
+                                done.lazySet(s + 1);
+                            }
+                        });
+                pipeline.start();
+                break;
+            case "queues":
+                first = new ArrayBlockingQueue<>(1024);
+                BlockingQueue<Event> second = new ArrayBlockingQueue<>(1024);
+                BlockingQueue<Event> third = new ArrayBlockingQueue<>(1024);
+                workers = new Thread[]{
+                        stage(first, second, e -> e.value++),
+                        stage(second, third, e -> e.value *= 3),
+                        stage(third, null, e -> done.lazySet(done.get() + 1))
+                };
+                for (Thread worker : workers) {
+                    worker.setDaemon(true);
+                    worker.start();
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown pipeline: " + pipelineType);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        } else {
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void run() throws InterruptedException {
+        for (int i = 0; i < BATCH; i++) {
+            if (pipeline != null) {
+                pipeline.publishEvent(PipelineBenchmark::translate, i);
+            } else {
+                Event event = new Event();
+                event.value = i;
+                first.put(event);
+            }
+        }
+        published += BATCH;
+        while (done.get() < published) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void translate(Event event, long value) {
+        event.value = value;
+    }
+
+    private static Thread stage(BlockingQueue<Event> in, BlockingQueue<Event> out,
+                                Consumer<Event> work) {
+        return new Thread(() -> {
+            try {
+                while (true) {
+                    Event event = in.take();
+                    work.accept(event);
+                    if (out != null) {
+                        out.put(event);
+                    }
+                }
+            } catch (InterruptedException ignored) {
+            }
+        });
+    }
+}
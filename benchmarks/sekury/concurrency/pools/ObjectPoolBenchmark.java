@@ -0,0 +1,55 @@
+package sekury.concurrency.pools;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectPoolBenchmark {
+
+    @Param({"16", "4096"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean fair;
+
+    private ConcurrentObjectPool<ByteBuffer> pool;
+    private BlockingQueue<ByteBuffer> queuePool;
+
+    @Setup
+    public void setUp() {
+        pool = new ConcurrentObjectPool<>(size, () -> ByteBuffer.allocate(64), fair);
+        queuePool = new ArrayBlockingQueue<>(size, fair);
+        for (int i = 0; i < size; i++) {
+            queuePool.add(ByteBuffer.allocate(64));
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer concurrentPool() throws InterruptedException {
+        PooledObject<ByteBuffer> object = pool.borrow();
+        try {
+            return object.get();
+        } finally {
+            pool.release(object);
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer arrayBlockingQueuePool() throws InterruptedException {
+        ByteBuffer buffer = queuePool.take();
+        try {
+            return buffer;
+        } finally {
+            queuePool.put(buffer);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package sekury.concurrency.queues;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One producer and one consumer moving items through a bounded queue. Offers to a full queue and polls from
+ * an empty one count as operations too, compare the producer and consumer scores together.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class RingQueueBenchmark {
+
+    private static final Integer ITEM = 42;
+
+    @Param({"spsc", "mpsc", "mpmc", "array-blocking"})
+    public String queueType;
+
+    @Param({"1024"})
+    public int capacity;
+
+    private BoundedQueue<Integer> ring;
+    private Queue<Integer> blocking;
+
+    @Setup
+    public void setUp() {
+        switch (queueType) {
+            case "spsc":
+                ring = new SpscRingQueue<>(capacity);
+                break;
+            case "mpsc":
+                ring = new MpscRingQueue<>(capacity);
+                break;
+            case "mpmc":
+                ring = new MpmcRingQueue<>(capacity);
+                break;
+            case "array-blocking":
+                blocking = new ArrayBlockingQueue<>(capacity);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown queue: " + queueType);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+        final Integer[] items = new Integer[64];
+        int drained;
+
+        @Setup
+        public void setUp() {
+            Arrays.fill(items, ITEM);
+        }
+    }
+
+    @Benchmark
+    @Group("single")
+    @GroupThreads(1)
+    public boolean offer() {
+        return ring != null ? ring.offer(ITEM) : blocking.offer(ITEM);
+    }
+
+    @Benchmark
+    @Group("single")
+    @GroupThreads(1)
+    public Integer poll() {
+        return ring != null ? ring.poll() : blocking.poll();
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    public int offerBatch(Batch batch) {
+        if (ring != null) {
+            return ring.offerBatch(batch.items, 0, batch.items.length);
+        }
+        int n = 0;
+        while (n < batch.items.length && blocking.offer(batch.items[n])) {
+            n++;
+        }
+        return n;
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    public int drain(Batch batch) {
+        batch.drained = 0;
+        if (ring != null) {
+            return ring.drain(item -> batch.drained++, batch.items.length);
+        }
+        while (batch.drained < batch.items.length && blocking.poll() != null) {
+            batch.drained++;
+        }
+        return batch.drained;
+    }
+}
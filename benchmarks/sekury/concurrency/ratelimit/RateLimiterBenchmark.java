@@ -0,0 +1,57 @@
+package sekury.concurrency.ratelimit;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code tryAcquire} throughput when almost every call is admitted ({@code rate} far above the call rate) and when
+ * almost every call is rejected. The semaphore is refilled once per millisecond, so its burst has to hold a whole
+ * millisecond of permits to admit at the same rate as the token buckets.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    @Param({"tokenBucket", "striped", "semaphore"})
+    public String limiterType;
+
+    @Param({"1000000000", "1000"})
+    public double rate;
+
+    private RateLimiter limiter;
+
+    @Setup
+    public void setUp() {
+        switch (limiterType) {
+            case "tokenBucket":
+                limiter = new TokenBucket(rate, 1_000);
+                break;
+            case "striped":
+                limiter = new StripedTokenBucket(rate, 1_000);
+                break;
+            case "semaphore":
+                int burst = (int) Math.min(Integer.MAX_VALUE, Math.max(1_000, rate / 1_000));
+                limiter = new SemaphoreRateLimiter(rate, burst, 1, TimeUnit.MILLISECONDS);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown limiter: " + limiterType);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (limiter instanceof SemaphoreRateLimiter) {
+            ((SemaphoreRateLimiter) limiter).close();
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        return limiter.tryAcquire();
+    }
+}
@@ -0,0 +1,191 @@
+package sekury.concurrency.synchronizers;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Control;
+import sekury.concurrency.queues.WaitStrategy;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Round-trip cost of letting all benchmark threads meet at a common point once.
+ * <p>
+ * Threads leave a JMH iteration independently, so every wait is timed and gives up once the measurement is over,
+ * otherwise the last threads would wait forever for parties that have already left.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BarrierBenchmark {
+
+    private static final long TIMEOUT_MILLIS = 100;
+
+    @State(Scope.Benchmark)
+    public static class CyclicBarrierState {
+        CyclicBarrier barrier;
+
+        @Setup(Level.Iteration)
+        public void setUp(BenchmarkParams params) {
+            barrier = new CyclicBarrier(params.getThreads());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PhaserState {
+        Phaser phaser;
+
+        @Setup(Level.Iteration)
+        public void setUp(BenchmarkParams params) {
+            phaser = new Phaser(params.getThreads());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LatchState {
+        int parties;
+        LatchRound first;
+
+        @Setup(Level.Iteration)
+        public void setUp(BenchmarkParams params) {
+            parties = params.getThreads();
+            first = new LatchRound(parties);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LatchCursor {
+        LatchRound round;
+
+        @Setup(Level.Iteration)
+        public void setUp(LatchState state) {
+            round = state.first;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SpinBarrierState {
+        @Param({"sense-reversing", "dissemination", "tournament"})
+        public String spinBarrier;
+
+        SpinBarrier barrier;
+        final AtomicInteger parties = new AtomicInteger();
+        volatile Control control;
+
+        @Setup(Level.Iteration)
+        public void setUp(BenchmarkParams params) {
+            parties.set(0);
+            // JMH passes a new Control every iteration, the previous one has already stopped
+            control = null;
+            // spinning barriers have no timeout, so the wait strategy itself gives up once the measurement is over
+            WaitStrategy yielding = WaitStrategy.yielding();
+            WaitStrategy waitStrategy = counter -> {
+                Control c = control;
+                if (c != null && c.stopMeasurement) {
+                    throw new MeasurementOver();
+                }
+                return yielding.idle(counter);
+            };
+            int n = params.getThreads();
+            switch (spinBarrier) {
+                case "sense-reversing":
+                    barrier = new SenseReversingBarrier(n, waitStrategy, null);
+                    break;
+                case "dissemination":
+                    barrier = new DisseminationBarrier(n, waitStrategy, null);
+                    break;
+                case "tournament":
+                    barrier = new TournamentBarrier(n, waitStrategy, null);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown barrier: " + spinBarrier);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Party {
+        int index;
+
+        @Setup(Level.Iteration)
+        public void setUp(SpinBarrierState state) {
+            index = state.parties.getAndIncrement();
+        }
+    }
+
+    static class MeasurementOver extends RuntimeException {
+        MeasurementOver() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * A {@link CountDownLatch} cannot be reset, so each round allocates the latch for the next one.
+     */
+    static class LatchRound {
+        final CountDownLatch latch;
+        final AtomicReference<LatchRound> next = new AtomicReference<>();
+
+        LatchRound(int parties) {
+            this.latch = new CountDownLatch(parties);
+        }
+    }
+
+    @Benchmark
+    public void cyclicBarrier(CyclicBarrierState state, Control control) throws InterruptedException {
+        while (!control.stopMeasurement) {
+            try {
+                state.barrier.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException | BrokenBarrierException e) {
+                if (control.stopMeasurement) {
+                    return;
+                }
+                state.barrier.reset();
+            }
+        }
+    }
+
+    @Benchmark
+    public int phaser(PhaserState state, Control control) throws InterruptedException {
+        int phase = state.phaser.arrive();
+        while (!control.stopMeasurement) {
+            try {
+                return state.phaser.awaitAdvanceInterruptibly(phase, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // re-check whether the measurement is over
+            }
+        }
+        return phase;
+    }
+
+    @Benchmark
+    public void countDownLatch(LatchState state, LatchCursor cursor, Control control) throws InterruptedException {
+        LatchRound round = cursor.round;
+        if (round.next.get() == null) {
+            round.next.compareAndSet(null, new LatchRound(state.parties));
+        }
+        round.latch.countDown();
+        while (!control.stopMeasurement) {
+            if (round.latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                break;
+            }
+        }
+        cursor.round = round.next.get();
+    }
+
+    @Benchmark
+    public void spinBarrier(SpinBarrierState state, Party party, Control control) throws InterruptedException {
+        if (state.control != control) {
+            state.control = control;
+        }
+        try {
+            state.barrier.await(party.index);
+        } catch (MeasurementOver e) {
+            // the other parties have left the iteration
+        }
+    }
+}
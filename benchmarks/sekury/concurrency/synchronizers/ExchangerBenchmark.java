@@ -0,0 +1,52 @@
+package sekury.concurrency.synchronizers;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.Exchanger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ExchangerBenchmark {
+
+    private static final long TIMEOUT_MILLIS = 100;
+
+    private final Exchanger<int[]> exchanger = new Exchanger<>();
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        int[] data = new int[64];
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public int[] producer(Buffer buffer, Control control) throws InterruptedException {
+        return exchange(buffer, control);
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public int[] consumer(Buffer buffer, Control control) throws InterruptedException {
+        return exchange(buffer, control);
+    }
+
+    private int[] exchange(Buffer buffer, Control control) throws InterruptedException {
+        while (!control.stopMeasurement) {
+            try {
+                buffer.data = exchanger.exchange(buffer.data, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                break;
+            } catch (TimeoutException e) {
+                // re-check whether the measurement is over
+            }
+        }
+        return buffer.data;
+    }
+}
@@ -0,0 +1,95 @@
+package sekury.concurrency.synchronizers;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TreeCountDownLatch} against {@link CountDownLatch}: raw countdown throughput from all benchmark threads,
+ * and the time for a pool to count down {@code parties} times and wake the waiting thread.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LatchBenchmark {
+
+    @Param({"juc", "tree"})
+    public String latchType;
+
+    @Param({"64", "4096"})
+    public int parties;
+
+    private Latch shared;
+    private ExecutorService executor;
+    private int workers;
+
+    interface Latch {
+        void countDown();
+
+        void await() throws InterruptedException;
+    }
+
+    @Setup
+    public void setUp() {
+        shared = newLatch(Integer.MAX_VALUE);
+        workers = Runtime.getRuntime().availableProcessors();
+        executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void countDown() {
+        shared.countDown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void fanIn() throws InterruptedException {
+        Latch latch = newLatch(parties);
+        for (int w = 0; w < workers; w++) {
+            int share = parties / workers + (w < parties % workers ? 1 : 0);
+            executor.execute(() -> {
+                for (int i = 0; i < share; i++) {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+    }
+
+    private Latch newLatch(int count) {
+        if (latchType.equals("tree")) {
+            TreeCountDownLatch latch = new TreeCountDownLatch(count);
+            return new Latch() {
+                public void countDown() {
+                    latch.countDown();
+                }
+
+                public void await() throws InterruptedException {
+                    latch.await();
+                }
+            };
+        }
+        CountDownLatch latch = new CountDownLatch(count);
+        return new Latch() {
+            public void countDown() {
+                latch.countDown();
+            }
+
+            public void await() throws InterruptedException {
+                latch.await();
+            }
+        };
+    }
+}
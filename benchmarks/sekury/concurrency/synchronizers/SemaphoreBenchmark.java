@@ -0,0 +1,43 @@
+package sekury.concurrency.synchronizers;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SemaphoreBenchmark {
+
+    @Param({"1", "5"})
+    public int permits;
+
+    @Param({"false", "true"})
+    public boolean fair;
+
+    private Semaphore semaphore;
+
+    @Setup
+    public void setUp() {
+        semaphore = new Semaphore(permits, fair);
+    }
+
+    @Benchmark
+    public void acquireRelease() throws InterruptedException {
+        semaphore.acquire();
+        semaphore.release();
+    }
+
+    @Benchmark
+    public boolean tryAcquireRelease() {
+        if (semaphore.tryAcquire()) {
+            semaphore.release();
+            return true;
+        }
+        return false;
+    }
+}
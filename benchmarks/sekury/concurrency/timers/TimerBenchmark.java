@@ -0,0 +1,90 @@
+package sekury.concurrency.timers;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules a batch of timeouts, like request timeouts of a server, and cancels them again, on top of
+ * {@code background} timeouts that stay pending. {@link ScheduledThreadPoolExecutor} removes cancelled tasks
+ * from its heap, as it would otherwise fill up.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TimerBenchmark {
+
+    private static final int BATCH = 10_000;
+    private static final Runnable TASK = () -> {
+    };
+
+    @Param({"wheel", "scheduledExecutor"})
+    public String timerType;
+
+    @Param({"0", "1000000"})
+    public int background;
+
+    private ExecutorService executor;
+    private TimingWheel wheel;
+    private ScheduledThreadPoolExecutor scheduler;
+    private final Object[] timeouts = new Object[BATCH];
+
+    @Setup
+    public void setUp() {
+        switch (timerType) {
+            case "wheel":
+                executor = Executors.newSingleThreadExecutor();
+                wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 512, executor);
+                break;
+            case "scheduledExecutor":
+                scheduler = new ScheduledThreadPoolExecutor(1);
+                scheduler.setRemoveOnCancelPolicy(true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown timer: " + timerType);
+        }
+        for (int i = 0; i < background; i++) {
+            schedule(TimeUnit.HOURS.toMillis(1) + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (wheel != null) {
+            wheel.close();
+            executor.shutdownNow();
+        } else {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void scheduleThenCancel() {
+        for (int i = 0; i < BATCH; i++) {
+            timeouts[i] = schedule(ThreadLocalRandom.current().nextLong(1_000, 60_000));
+        }
+        for (int i = 0; i < BATCH; i++) {
+            if (wheel != null) {
+                ((Timeout) timeouts[i]).cancel();
+            } else {
+                ((ScheduledFuture<?>) timeouts[i]).cancel(false);
+            }
+        }
+    }
+
+    private Object schedule(long delayMillis) {
+        if (wheel != null) {
+            return wheel.schedule(TASK, delayMillis, TimeUnit.MILLISECONDS);
+        }
+        return scheduler.schedule(TASK, delayMillis, TimeUnit.MILLISECONDS);
+    }
+}
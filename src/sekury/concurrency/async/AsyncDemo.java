@@ -0,0 +1,52 @@
+package sekury.concurrency.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class AsyncDemo {
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(4);
+
+        // no polling: the callback runs when the result is ready
+        Futures.submit(() -> "Hello future!", executor)
+                .thenAccept(System.out::println)
+                .whenComplete((v, e) -> done.countDown());
+
+        Futures.fanOut(List.of(1, 2, 3), n -> Futures.submit(() -> n * n, executor))
+                .thenAccept(squares -> System.out.println("Squares: " + squares))
+                .whenComplete((v, e) -> done.countDown());
+
+        CompletableFuture<String> slow = Futures.submit(() -> {
+            TimeUnit.SECONDS.sleep(10);
+            return "Too late";
+        }, executor);
+        Futures.withTimeout(slow, 100, TimeUnit.MILLISECONDS)
+                .whenComplete((v, e) -> {
+                    System.out.println("Slow call failed with " + e + ", source cancelled: " + slow.isCancelled());
+                    done.countDown();
+                });
+
+        InFlightLimiter limiter = new InFlightLimiter(2, 2);
+        List<CompletableFuture<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            int n = i;
+            calls.add(limiter.submit(() -> Futures.submit(() -> {
+                TimeUnit.MILLISECONDS.sleep(200);
+                return n;
+            }, executor)));
+        }
+        System.out.printf("In flight: %d, queued: %d, rejected: %d%n",
+                limiter.getInFlight(), limiter.getQueued(), limiter.getRejected());
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0]))
+                .whenComplete((v, e) -> {
+                    calls.forEach(call -> System.out.println(call.isCompletedExceptionally() ? "rejected" : call.join()));
+                    done.countDown();
+                });
+
+        done.await();
+        executor.shutdown();
+    }
+}
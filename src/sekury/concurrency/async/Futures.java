@@ -0,0 +1,173 @@
+package sekury.concurrency.async;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Combinators over {@link CompletableFuture} that never block a thread and that propagate cancellation to the
+ * futures they were built from, which {@code CompletableFuture} alone does not do.
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Runs the task on the executor. Unlike {@link CompletableFuture#supplyAsync}, cancelling the returned future
+     * interrupts the thread running the task.
+     */
+    public static <T> CompletableFuture<T> submit(Callable<T> task, Executor executor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        FutureTask<T> futureTask = new FutureTask<>(task) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    result.cancel(false);
+                    return;
+                }
+                try {
+                    result.complete(get());
+                } catch (ExecutionException e) {
+                    result.completeExceptionally(e.getCause());
+                } catch (InterruptedException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                futureTask.cancel(true);
+            }
+        });
+        try {
+            executor.execute(futureTask);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Completes with all results in order once every future completes normally. Fails as soon as any future
+     * fails and then cancels the others; cancelling the returned future cancels all of them.
+     */
+    public static <T> CompletableFuture<List<T>> allOf(List<? extends CompletableFuture<? extends T>> futures) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        int size = futures.size();
+        if (size == 0) {
+            result.complete(new ArrayList<>());
+            return result;
+        }
+        Object[] values = new Object[size];
+        AtomicInteger remaining = new AtomicInteger(size);
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            futures.get(i).whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(unwrap(error));
+                } else {
+                    values[index] = value;
+                    if (remaining.decrementAndGet() == 0) {
+                        result.complete(toList(values));
+                    }
+                }
+            });
+        }
+        cancelOnFailure(result, futures);
+        return result;
+    }
+
+    /**
+     * Completes with the first successful result and cancels the other futures. Fails only if all futures fail,
+     * with the last failure.
+     */
+    public static <T> CompletableFuture<T> firstOf(List<? extends CompletableFuture<? extends T>> futures) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (futures.isEmpty()) {
+            result.completeExceptionally(new IllegalArgumentException("No futures"));
+            return result;
+        }
+        AtomicInteger remaining = new AtomicInteger(futures.size());
+        for (CompletableFuture<? extends T> future : futures) {
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (remaining.decrementAndGet() == 0) {
+                    result.completeExceptionally(unwrap(error));
+                }
+            });
+        }
+        result.whenComplete((value, error) -> futures.forEach(future -> future.cancel(true)));
+        return result;
+    }
+
+    /**
+     * Starts one operation per input and gathers the results with {@link #allOf}.
+     */
+    public static <T, R> CompletableFuture<List<R>> fanOut(Collection<? extends T> inputs,
+                                                           Function<? super T, ? extends CompletableFuture<? extends R>> operation) {
+        List<CompletableFuture<? extends R>> futures = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            futures.add(operation.apply(input));
+        }
+        return allOf(futures);
+    }
+
+    /**
+     * Returns a future that fails with {@link TimeoutException} if the source does not complete in time,
+     * in which case the source is cancelled.
+     */
+    public static <T> CompletableFuture<T> withTimeout(CompletableFuture<T> source, long timeout, TimeUnit unit) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        source.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (timedOut.get()) {
+                result.completeExceptionally(new TimeoutException("Timed out after " + timeout + " " + unit));
+            } else {
+                result.completeExceptionally(unwrap(error));
+            }
+        });
+        // cancel the source first, so that callbacks on the result already see it cancelled
+        CompletableFuture.delayedExecutor(timeout, unit).execute(() -> {
+            if (!source.isDone() && timedOut.compareAndSet(false, true)) {
+                source.cancel(true);
+            }
+        });
+        cancelOnFailure(result, List.of(source));
+        return result;
+    }
+
+    /**
+     * Cancels the sources when the dependent future completes exceptionally, including by cancellation or timeout.
+     */
+    public static void cancelOnFailure(CompletableFuture<?> dependent, Collection<? extends Future<?>> sources) {
+        dependent.whenComplete((value, error) -> {
+            if (error != null) {
+                sources.forEach(source -> source.cancel(true));
+            }
+        });
+    }
+
+    static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> toList(Object[] values) {
+        List<T> list = new ArrayList<>(values.length);
+        for (Object value : values) {
+            list.add((T) value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,154 @@
+package sekury.concurrency.async;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of asynchronous operations running at once. Operations over the limit wait in a queue
+ * without holding a thread and start when a running one completes; once the queue is full new operations are
+ * rejected right away, which pushes back on the caller instead of letting work pile up.
+ */
+public class InFlightLimiter {
+
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Pending<?>> pending = new ConcurrentLinkedQueue<>();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicInteger drainers = new AtomicInteger();
+
+    public InFlightLimiter(int maxInFlight, int maxQueued) {
+        if (maxInFlight <= 0 || maxQueued < 0) {
+            throw new IllegalArgumentException("maxInFlight=" + maxInFlight + ", maxQueued=" + maxQueued);
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Starts the operation now if under the limit, otherwise queues it. The returned future fails with
+     * {@link RejectedExecutionException} if the queue is full. Cancelling it removes a queued operation or
+     * cancels a running one.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<? extends CompletionStage<T>> operation) {
+        Pending<T> task = new Pending<>(operation);
+        if (tryAcquire()) {
+            start(task);
+            return task.result;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejected.increment();
+            task.result.completeExceptionally(new RejectedExecutionException(
+                    "Too many operations: " + maxInFlight + " in flight, " + maxQueued + " queued"));
+            return task.result;
+        }
+        pending.add(task);
+        // a queued operation completes only when cancelled, whoever takes it out gives its queue place back
+        task.result.whenComplete((value, error) -> {
+            if (!task.dequeued && pending.remove(task)) {
+                queued.decrementAndGet();
+            }
+        });
+        // a running operation may have completed before we were queued
+        drain();
+        return task.result;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    /**
+     * Starts queued operations while slots are free. An operation that completes at once releases its slot and
+     * calls back in here from {@link #start}, so only the outermost call loops and nested calls just ask it for
+     * another round, which keeps the stack flat however long the queue is.
+     */
+    private void drain() {
+        if (drainers.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (!pending.isEmpty() && tryAcquire()) {
+                Pending<?> task = pending.poll();
+                if (task == null) {
+                    inFlight.decrementAndGet();
+                    continue;
+                }
+                task.dequeued = true;
+                queued.decrementAndGet();
+                if (task.result.isDone()) {
+                    // cancelled while queued
+                    inFlight.decrementAndGet();
+                    continue;
+                }
+                start(task);
+            }
+            missed = drainers.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private <T> void start(Pending<T> task) {
+        CompletionStage<T> stage;
+        try {
+            stage = task.operation.get();
+        } catch (Throwable t) {
+            task.result.completeExceptionally(t);
+            release();
+            return;
+        }
+        CompletableFuture<T> future = stage.toCompletableFuture();
+        Futures.cancelOnFailure(task.result, List.of(future));
+        future.whenComplete((value, error) -> {
+            release();
+            if (error != null) {
+                task.result.completeExceptionally(Futures.unwrap(error));
+            } else {
+                task.result.complete(value);
+            }
+        });
+    }
+
+    private static final class Pending<T> {
+        final Supplier<? extends CompletionStage<T>> operation;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        volatile boolean dequeued;
+
+        Pending(Supplier<? extends CompletionStage<T>> operation) {
+            this.operation = operation;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package sekury.concurrency.bsp;
+
+import java.util.List;
+
+/**
+ * Work done for one partition in one superstep.
+ *
+ * @param <S> partition state
+ * @param <M> message type
+ */
+@FunctionalInterface
+public interface BspComputation<S, M> {
+
+    /**
+     * @param context  superstep information and the outgoing message channel
+     * @param state    state of the partition, owned by the calling worker for the duration of the call
+     * @param messages messages sent to this partition in the previous superstep
+     * @return {@code true} to stay active, {@code false} to vote for termination. The computation terminates
+     * once every partition has voted to terminate in the same superstep and no messages are in flight.
+     */
+    boolean compute(Context<M> context, S state, List<M> messages);
+
+    interface Context<M> {
+
+        int superstep();
+
+        int partition();
+
+        int partitions();
+
+        /**
+         * Sends a message that {@code partition} receives in the next superstep.
+         */
+        void send(int partition, M message);
+    }
+}
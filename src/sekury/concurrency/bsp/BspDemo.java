@@ -0,0 +1,44 @@
+package sekury.concurrency.bsp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+public class BspDemo {
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        // every partition of a ring learns the maximum value by exchanging it with its neighbours
+        int partitions = 4096;
+        Random random = new Random(42);
+        List<long[]> values = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            values.add(new long[]{random.nextInt(1_000_000)});
+        }
+
+        try (BspEngine engine = new BspEngine(Runtime.getRuntime().availableProcessors() * 2, 4)) {
+            BspComputation<long[], Long> maxPropagation = (context, value, messages) -> {
+                long max = value[0];
+                for (long message : messages) {
+                    max = Math.max(max, message);
+                }
+                if (context.superstep() > 0 && max == value[0]) {
+                    return false;
+                }
+                value[0] = max;
+                int p = context.partition();
+                context.send((p + 1) % context.partitions(), max);
+                context.send((p + context.partitions() - 1) % context.partitions(), max);
+                return true;
+            };
+            BspResult result = engine.run(values, maxPropagation, 10_000);
+
+            System.out.println(result);
+            List<Long> nanos = result.getSuperstepNanos();
+            for (int i = 0; i < Math.min(5, nanos.size()); i++) {
+                System.out.printf("superstep %d: %d us%n", i, nanos.get(i) / 1000);
+            }
+            System.out.println("Max in partition 0: " + values.get(0)[0]);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package sekury.concurrency.bsp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulk-synchronous parallel engine. Partitions are spread round-robin over a fixed pool of workers; in every
+ * superstep each worker computes its partitions, then all workers meet at a barrier, and messages sent during a
+ * superstep are delivered at the start of the next one.
+ * <p>
+ * The barrier is a tree of {@link Phaser}s with at most {@code fanout} parties each, so no single phaser sees more
+ * than {@code fanout} concurrent arrivals. The root phaser's {@code onAdvance} runs once per superstep: it times the
+ * superstep and decides whether to terminate.
+ */
+public class BspEngine implements AutoCloseable {
+
+    private static final int DEFAULT_FANOUT = 8;
+
+    private final int workers;
+    private final int fanout;
+    private final ExecutorService executor;
+
+    public BspEngine(int workers) {
+        this(workers, DEFAULT_FANOUT);
+    }
+
+    public BspEngine(int workers, int fanout) {
+        if (workers <= 0 || fanout < 2) {
+            throw new IllegalArgumentException("workers=" + workers + ", fanout=" + fanout);
+        }
+        this.workers = workers;
+        this.fanout = fanout;
+        this.executor = Executors.newFixedThreadPool(workers);
+    }
+
+    /**
+     * Runs the computation until it converges or {@code maxSupersteps} have run.
+     *
+     * @param states one state per partition, updated in place
+     */
+    public synchronized <S, M> BspResult run(List<S> states, BspComputation<S, M> computation, int maxSupersteps)
+            throws InterruptedException, ExecutionException {
+        if (maxSupersteps <= 0) {
+            throw new IllegalArgumentException("maxSupersteps must be positive: " + maxSupersteps);
+        }
+        Run<S, M> run = new Run<>(states, computation, maxSupersteps);
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            int worker = w;
+            futures.add(executor.submit(() -> run.work(worker)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        Throwable failure = run.failure.get();
+        if (failure != null) {
+            throw new ExecutionException(failure);
+        }
+        return new BspResult(run.supersteps, run.converged, run.superstepNanos, run.messages);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static List<Phaser> leaves(Phaser parent, int count, int fanout) {
+        List<Phaser> result = new ArrayList<>();
+        if (count == 1) {
+            result.add(parent);
+            return result;
+        }
+        int children = Math.min(fanout, count);
+        for (int i = 0; i < children; i++) {
+            int share = count / children + (i < count % children ? 1 : 0);
+            result.addAll(leaves(new Phaser(parent), share, fanout));
+        }
+        return result;
+    }
+
+    private final class Run<S, M> {
+
+        final List<S> states;
+        final BspComputation<S, M> computation;
+        final int maxSupersteps;
+        final int partitions;
+
+        final List<M>[] inboxes;
+        /**
+         * Outgoing messages by superstep parity, sending worker and receiving worker. A worker reads the lists
+         * addressed to it from the previous superstep while everybody writes the other parity.
+         */
+        final List<Envelope<M>>[][][] outboxes;
+
+        final Phaser root;
+        final List<Phaser> leaves;
+        final LongAdder active = new LongAdder();
+        final LongAdder sent = new LongAdder();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // written only in onAdvance, which never runs concurrently with itself
+        final List<Long> superstepNanos = new ArrayList<>();
+        long superstepStart = System.nanoTime();
+        long messages;
+        int supersteps;
+        boolean converged;
+
+        @SuppressWarnings("unchecked")
+        Run(List<S> states, BspComputation<S, M> computation, int maxSupersteps) {
+            this.states = states;
+            this.computation = computation;
+            this.maxSupersteps = maxSupersteps;
+            this.partitions = states.size();
+            this.inboxes = new List[partitions];
+            for (int p = 0; p < partitions; p++) {
+                inboxes[p] = new ArrayList<>();
+            }
+            this.outboxes = new List[2][workers][workers];
+            for (List<Envelope<M>>[][] parity : outboxes) {
+                for (List<Envelope<M>>[] row : parity) {
+                    for (int w = 0; w < workers; w++) {
+                        row[w] = new ArrayList<>();
+                    }
+                }
+            }
+            this.root = new Phaser() {
+                @Override
+                protected boolean onAdvance(int phase, int registeredParties) {
+                    return advance(phase) || registeredParties == 0;
+                }
+            };
+            this.leaves = leaves(root, (workers + fanout - 1) / fanout, fanout);
+            for (int w = 0; w < workers; w++) {
+                leaves.get(w / fanout).register();
+            }
+        }
+
+        boolean advance(int phase) {
+            long now = System.nanoTime();
+            superstepNanos.add(now - superstepStart);
+            superstepStart = now;
+            supersteps = phase + 1;
+            long activePartitions = active.sumThenReset();
+            long sentMessages = sent.sumThenReset();
+            messages += sentMessages;
+            converged = activePartitions == 0 && sentMessages == 0;
+            return converged || supersteps >= maxSupersteps || failure.get() != null;
+        }
+
+        void work(int worker) {
+            Phaser phaser = leaves.get(worker / fanout);
+            WorkerContext context = new WorkerContext(worker);
+            try {
+                for (int superstep = 0; ; superstep++) {
+                    if (superstep > 0) {
+                        deliver(worker, (superstep - 1) & 1);
+                    }
+                    context.superstep = superstep;
+                    long localActive = 0;
+                    for (int p = worker; p < partitions; p += workers) {
+                        context.partition = p;
+                        if (computation.compute(context, states.get(p), inboxes[p])) {
+                            localActive++;
+                        }
+                    }
+                    active.add(localActive);
+                    sent.add(context.sent);
+                    context.sent = 0;
+                    if (phaser.arriveAndAwaitAdvance() < 0) {
+                        return;
+                    }
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+                root.forceTermination();
+            }
+        }
+
+        private void deliver(int worker, int parity) {
+            for (int p = worker; p < partitions; p += workers) {
+                inboxes[p].clear();
+            }
+            for (int source = 0; source < workers; source++) {
+                List<Envelope<M>> envelopes = outboxes[parity][source][worker];
+                for (Envelope<M> envelope : envelopes) {
+                    inboxes[envelope.partition].add(envelope.message);
+                }
+                envelopes.clear();
+            }
+        }
+
+        private final class WorkerContext implements BspComputation.Context<M> {
+            final int worker;
+            int superstep;
+            int partition;
+            long sent;
+
+            WorkerContext(int worker) {
+                this.worker = worker;
+            }
+
+            @Override
+            public int superstep() {
+                return superstep;
+            }
+
+            @Override
+            public int partition() {
+                return partition;
+            }
+
+            @Override
+            public int partitions() {
+                return partitions;
+            }
+
+            @Override
+            public void send(int partition, M message) {
+                if (partition < 0 || partition >= partitions) {
+                    throw new IndexOutOfBoundsException("Partition: " + partition + ", partitions: " + partitions);
+                }
+                outboxes[superstep & 1][worker][partition % workers].add(new Envelope<>(partition, message));
+                sent++;
+            }
+        }
+    }
+
+    private static final class Envelope<M> {
+        final int partition;
+        final M message;
+
+        Envelope(int partition, M message) {
+            this.partition = partition;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package sekury.concurrency.bsp;
+
+import java.util.Collections;
+import java.util.List;
+
+public final class BspResult {
+
+    private final int supersteps;
+    private final boolean converged;
+    private final List<Long> superstepNanos;
+    private final long messages;
+
+    BspResult(int supersteps, boolean converged, List<Long> superstepNanos, long messages) {
+        this.supersteps = supersteps;
+        this.converged = converged;
+        this.superstepNanos = Collections.unmodifiableList(superstepNanos);
+        this.messages = messages;
+    }
+
+    public int getSupersteps() {
+        return supersteps;
+    }
+
+    /**
+     * Whether all partitions voted to terminate, as opposed to hitting the superstep limit.
+     */
+    public boolean isConverged() {
+        return converged;
+    }
+
+    /**
+     * Wall-clock time of each superstep, from the start of its computation to the last arrival at its barrier.
+     */
+    public List<Long> getSuperstepNanos() {
+        return superstepNanos;
+    }
+
+    public long getTotalNanos() {
+        long total = 0;
+        for (long nanos : superstepNanos) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    public long getMessages() {
+        return messages;
+    }
+
+    @Override
+    public String toString() {
+        return "BspResult{" +
+                "supersteps=" + supersteps +
+                ", converged=" + converged +
+                ", messages=" + messages +
+                ", totalMillis=" + getTotalNanos() / 1_000_000 +
+                '}';
+    }
+}
@@ -0,0 +1,28 @@
+package sekury.concurrency.counters;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AtomicCounter implements Counter, Sequence {
+
+    private final AtomicLong counter = new AtomicLong();
+
+    @Override
+    public void add(long delta) {
+        counter.addAndGet(delta);
+    }
+
+    @Override
+    public long sum() {
+        return counter.get();
+    }
+
+    @Override
+    public void reset() {
+        counter.set(0);
+    }
+
+    @Override
+    public long getNext() {
+        return counter.incrementAndGet();
+    }
+}
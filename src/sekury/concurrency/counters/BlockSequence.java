@@ -0,0 +1,43 @@
+package sekury.concurrency.counters;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out blocks of ids to each thread, so the shared counter is touched once per block instead of
+ * once per call. Values are unique but only monotonic within a single thread.
+ */
+public class BlockSequence implements Sequence {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private final AtomicLong nextBlock = new AtomicLong(1);
+    private final int blockSize;
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    public BlockSequence() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public BlockSequence(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long getNext() {
+        Block block = blocks.get();
+        if (block.next == block.limit) {
+            long start = nextBlock.getAndAdd(blockSize);
+            block.next = start;
+            block.limit = start + blockSize;
+        }
+        return block.next++;
+    }
+
+    private static final class Block {
+        long next;
+        long limit;
+    }
+}
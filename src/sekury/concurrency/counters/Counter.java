@@ -0,0 +1,14 @@
+package sekury.concurrency.counters;
+
+public interface Counter {
+
+    void add(long delta);
+
+    long sum();
+
+    void reset();
+
+    default void increment() {
+        add(1L);
+    }
+}
@@ -0,0 +1,50 @@
+package sekury.concurrency.counters;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class CounterDemo {
+
+    private static final int THREADS = 4;
+    private static final int INCREMENTS = 1_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        run("synchronized", new SynchronizedCounter());
+        run("atomic", new AtomicCounter());
+        run("long adder", new LongAdderCounter());
+        run("striped", new StripedCounter());
+
+        Sequence sequence = new BlockSequence();
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(sequence.getNext());
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        System.out.printf("block sequence: %d unique ids%n", ids.size());
+    }
+
+    private static void run(String name, Counter counter) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < INCREMENTS; i++) {
+                    counter.increment();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.printf("%s: sum=%d in %d ms%n", name, counter.sum(), elapsed);
+    }
+}
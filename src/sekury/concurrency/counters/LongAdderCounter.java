@@ -0,0 +1,28 @@
+package sekury.concurrency.counters;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class LongAdderCounter implements Counter {
+
+    private final LongAdder adder = new LongAdder();
+
+    @Override
+    public void add(long delta) {
+        adder.add(delta);
+    }
+
+    @Override
+    public void increment() {
+        adder.increment();
+    }
+
+    @Override
+    public long sum() {
+        return adder.sum();
+    }
+
+    @Override
+    public void reset() {
+        adder.reset();
+    }
+}
@@ -0,0 +1,9 @@
+package sekury.concurrency.counters;
+
+public interface Sequence {
+
+    /**
+     * Returns a value that is unique across all threads calling this sequence.
+     */
+    long getNext();
+}
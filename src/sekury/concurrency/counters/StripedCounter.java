@@ -0,0 +1,118 @@
+package sekury.concurrency.counters;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spreads updates over cache-line-padded cells. Each thread hashes to a cell through its own probe,
+ * and moves to another cell when a CAS on the current one fails.
+ */
+public class StripedCounter implements Counter {
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    private final Cell[] cells;
+    private final int mask;
+    private final ThreadLocal<Probe> probes = ThreadLocal.withInitial(Probe::new);
+
+    public StripedCounter() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public StripedCounter(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.cells = new Cell[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            cells[i] = new Cell();
+        }
+    }
+
+    @Override
+    public void add(long delta) {
+        Probe probe = probes.get();
+        int h = probe.hash;
+        for (int attempt = 0; ; attempt++) {
+            Cell cell = cells[h & mask];
+            long v = cell.value;
+            if (cell.cas(v, v + delta)) {
+                break;
+            }
+            h = rehash(h);
+            if (attempt >= MAX_ATTEMPTS) {
+                cell.getAndAdd(delta);
+                break;
+            }
+        }
+        probe.hash = h;
+    }
+
+    @Override
+    public long sum() {
+        long sum = 0;
+        for (Cell cell : cells) {
+            sum += cell.value;
+        }
+        return sum;
+    }
+
+    @Override
+    public void reset() {
+        for (Cell cell : cells) {
+            cell.value = 0;
+        }
+    }
+
+    public int stripes() {
+        return cells.length;
+    }
+
+    private static int rehash(int h) {
+        // xorshift, as used by Striped64
+        h ^= h << 13;
+        h ^= h >>> 17;
+        h ^= h << 5;
+        return h;
+    }
+
+    private static final class Probe {
+        int hash = ThreadLocalRandom.current().nextInt() | 1;
+    }
+
+    static class LhsPadding {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    static class CellValue extends LhsPadding {
+        volatile long value;
+    }
+
+    static final class Cell extends CellValue {
+        long p11, p12, p13, p14, p15, p16, p17;
+
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(CellValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        boolean cas(long expected, long update) {
+            return VALUE.compareAndSet(this, expected, update);
+        }
+
+        long getAndAdd(long delta) {
+            return (long) VALUE.getAndAdd(this, delta);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package sekury.concurrency.counters;
+
+public class SynchronizedCounter implements Counter, Sequence {
+
+    private long counter;
+
+    @Override
+    public synchronized void add(long delta) {
+        counter += delta;
+    }
+
+    @Override
+    public synchronized long sum() {
+        return counter;
+    }
+
+    @Override
+    public synchronized void reset() {
+        counter = 0;
+    }
+
+    @Override
+    public synchronized long getNext() {
+        return ++counter;
+    }
+}
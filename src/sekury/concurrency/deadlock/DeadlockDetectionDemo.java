@@ -0,0 +1,38 @@
+package sekury.concurrency.deadlock;
+
+public class DeadlockDetectionDemo {
+
+    public static void main(String[] args) throws InterruptedException {
+        LockOrderDetector detector = new LockOrderDetector();
+        OrderedMonitor lock1 = detector.newMonitor("lock1");
+        OrderedMonitor lock2 = detector.newMonitor("lock2");
+
+        // the same inversion as JavaThreadDeadlockDemo, but the threads run one after the other,
+        // so they never deadlock; the detector still reports the inconsistent order
+        Thread first = new Thread(() -> lock1.run(() -> lock2.run(
+                () -> System.out.println("first thread holds lock1 and lock2"))), "first");
+        Thread second = new Thread(() -> lock2.run(() -> lock1.run(
+                () -> System.out.println("second thread holds lock2 and lock1"))), "second");
+        first.start();
+        first.join();
+        second.start();
+        second.join();
+
+        OrderedLock a = detector.newLock("a");
+        OrderedLock b = detector.newLock("b");
+        OrderedLock c = detector.newLock("c");
+        lockInOrder(a, b);
+        lockInOrder(b, c);
+        lockInOrder(c, a);  // closes the cycle a -> b -> c -> a
+    }
+
+    private static void lockInOrder(OrderedLock outer, OrderedLock inner) {
+        outer.lock();
+        try {
+            inner.lock();
+            inner.unlock();
+        } finally {
+            outer.unlock();
+        }
+    }
+}
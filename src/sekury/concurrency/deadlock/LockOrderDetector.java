@@ -0,0 +1,237 @@
+package sekury.concurrency.deadlock;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Records the order in which threads acquire tracked locks and reports a {@link PotentialDeadlock} as soon as
+ * two orders contradict each other, e.g. one thread took lock1 then lock2 and another lock2 then lock1, even if
+ * the two threads never actually deadlocked.
+ * <p>
+ * Every blocking acquisition adds an edge "most recently acquired held lock -> lock being acquired" to a global
+ * graph, and a cycle in that graph is a potential deadlock. Each thread remembers the edges it has already seen,
+ * so in steady state an acquisition only touches thread-local state; the global graph is locked and searched only
+ * when a new edge shows up.
+ */
+public class LockOrderDetector {
+
+    private final AtomicInteger ids = new AtomicInteger();
+    private final Consumer<? super PotentialDeadlock> listener;
+    private final Map<Integer, Map<Integer, Edge>> graph = new HashMap<>();
+    private final Map<Integer, String> names = new HashMap<>();
+    private final Set<Set<Integer>> reported = new HashSet<>();
+    private final ThreadLocal<ThreadState> threads = ThreadLocal.withInitial(ThreadState::new);
+    private volatile boolean enabled = true;
+
+    public LockOrderDetector() {
+        this(deadlock -> System.err.println(deadlock));
+    }
+
+    public LockOrderDetector(Consumer<? super PotentialDeadlock> listener) {
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    public OrderedLock newLock(String name) {
+        return newLock(name, false);
+    }
+
+    public OrderedLock newLock(String name, boolean fair) {
+        return new OrderedLock(this, register(name), name, fair);
+    }
+
+    public OrderedMonitor newMonitor(String name) {
+        return new OrderedMonitor(this, register(name), name);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    private int register(String name) {
+        int id = ids.incrementAndGet();
+        synchronized (this) {
+            names.put(id, name);
+        }
+        return id;
+    }
+
+    /**
+     * Called before a blocking acquisition of a lock the current thread does not hold yet.
+     */
+    void beforeAcquire(int id) {
+        if (!enabled) {
+            return;
+        }
+        ThreadState state = threads.get();
+        if (state.size == 0) {
+            return;
+        }
+        int from = state.held[state.size - 1];
+        long key = (long) from << 32 | id;
+        if (from != id && state.knownEdges.add(key)) {
+            PotentialDeadlock deadlock = addEdge(from, id);
+            if (deadlock != null) {
+                // outside the graph monitor, so a slow listener does not stall other threads recording edges
+                listener.accept(deadlock);
+            }
+        }
+    }
+
+    /**
+     * Called once the current thread holds the lock for the first (non-reentrant) time.
+     */
+    void acquired(int id) {
+        threads.get().push(id);
+    }
+
+    /**
+     * Called when the current thread releases its last hold on the lock.
+     */
+    void released(int id) {
+        threads.get().remove(id);
+    }
+
+    /**
+     * Adds the edge and returns the potential deadlock it closes, if that cycle was not reported before.
+     */
+    private synchronized PotentialDeadlock addEdge(int from, int to) {
+        Map<Integer, Edge> successors = graph.computeIfAbsent(from, k -> new HashMap<>());
+        if (successors.containsKey(to)) {
+            return null;
+        }
+        successors.put(to, new Edge(from, to, Thread.currentThread().getName(), new Throwable().getStackTrace()));
+        List<Edge> path = findPath(to, from);
+        if (path != null) {
+            path.add(0, successors.get(to));
+            Set<Integer> cycle = new HashSet<>();
+            for (Edge edge : path) {
+                cycle.add(edge.from);
+            }
+            if (reported.add(cycle)) {
+                return new PotentialDeadlock(describe(path));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Depth-first search for a path of edges from {@code start} to {@code target}.
+     */
+    private List<Edge> findPath(int start, int target) {
+        List<Edge> path = new ArrayList<>();
+        return findPath(start, target, new HashSet<>(), path) ? path : null;
+    }
+
+    private boolean findPath(int node, int target, Set<Integer> visited, List<Edge> path) {
+        if (node == target) {
+            return true;
+        }
+        if (!visited.add(node)) {
+            return false;
+        }
+        for (Edge edge : graph.getOrDefault(node, Collections.emptyMap()).values()) {
+            path.add(edge);
+            if (findPath(edge.to, target, visited, path)) {
+                return true;
+            }
+            path.remove(path.size() - 1);
+        }
+        return false;
+    }
+
+    private List<PotentialDeadlock.Step> describe(List<Edge> path) {
+        List<PotentialDeadlock.Step> steps = new ArrayList<>(path.size());
+        for (Edge edge : path) {
+            steps.add(new PotentialDeadlock.Step(names.get(edge.from), names.get(edge.to), edge.thread, edge.stackTrace));
+        }
+        return steps;
+    }
+
+    private static final class Edge {
+        final int from;
+        final int to;
+        final String thread;
+        final StackTraceElement[] stackTrace;
+
+        Edge(int from, int to, String thread, StackTraceElement[] stackTrace) {
+            this.from = from;
+            this.to = to;
+            this.thread = thread;
+            this.stackTrace = stackTrace;
+        }
+    }
+
+    private static final class ThreadState {
+        int[] held = new int[8];
+        int size;
+        final EdgeSet knownEdges = new EdgeSet();
+
+        void push(int id) {
+            if (size == held.length) {
+                held = Arrays.copyOf(held, size << 1);
+            }
+            held[size++] = id;
+        }
+
+        void remove(int id) {
+            // locks are usually released in reverse order, so search from the top
+            for (int i = size - 1; i >= 0; i--) {
+                if (held[i] == id) {
+                    System.arraycopy(held, i + 1, held, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Open-addressing set of edge keys, so that checking a known edge neither boxes nor allocates.
+     * Keys are never 0 because lock ids start at 1.
+     */
+    private static final class EdgeSet {
+        long[] keys = new long[16];
+        int size;
+
+        boolean add(long key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != 0) {
+                if (keys[i] == key) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            if (++size > keys.length >>> 1) {
+                rehash();
+            }
+            return true;
+        }
+
+        private void rehash() {
+            long[] old = keys;
+            keys = new long[old.length << 1];
+            int mask = keys.length - 1;
+            for (long key : old) {
+                if (key != 0) {
+                    int i = hash(key) & mask;
+                    while (keys[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = key;
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ h >>> 32);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package sekury.concurrency.deadlock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ReentrantLock} that reports its acquisitions to a {@link LockOrderDetector}. Reentrant acquisitions are
+ * not reported, and neither are {@code tryLock} acquisitions as ordering edges, because they cannot block.
+ */
+public class OrderedLock implements Lock {
+
+    private final LockOrderDetector detector;
+    private final int id;
+    private final String name;
+    private final ReentrantLock delegate;
+
+    OrderedLock(LockOrderDetector detector, int id, String name, boolean fair) {
+        this.detector = detector;
+        this.id = id;
+        this.name = name;
+        this.delegate = new ReentrantLock(fair);
+    }
+
+    @Override
+    public void lock() {
+        boolean first = !delegate.isHeldByCurrentThread();
+        if (first) {
+            detector.beforeAcquire(id);
+        }
+        delegate.lock();
+        if (first) {
+            detector.acquired(id);
+        }
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        boolean first = !delegate.isHeldByCurrentThread();
+        if (first) {
+            detector.beforeAcquire(id);
+        }
+        delegate.lockInterruptibly();
+        if (first) {
+            detector.acquired(id);
+        }
+    }
+
+    @Override
+    public boolean tryLock() {
+        boolean first = !delegate.isHeldByCurrentThread();
+        boolean locked = delegate.tryLock();
+        if (locked && first) {
+            detector.acquired(id);
+        }
+        return locked;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        boolean first = !delegate.isHeldByCurrentThread();
+        boolean locked = delegate.tryLock(time, unit);
+        if (locked && first) {
+            detector.acquired(id);
+        }
+        return locked;
+    }
+
+    @Override
+    public void unlock() {
+        boolean last = delegate.getHoldCount() == 1;
+        delegate.unlock();
+        if (last) {
+            detector.released(id);
+        }
+    }
+
+    @Override
+    public Condition newCondition() {
+        return delegate.newCondition();
+    }
+
+    public boolean isHeldByCurrentThread() {
+        return delegate.isHeldByCurrentThread();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderedLock{" + name + ", " + delegate + '}';
+    }
+}
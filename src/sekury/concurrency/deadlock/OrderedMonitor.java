@@ -0,0 +1,55 @@
+package sekury.concurrency.deadlock;
+
+import java.util.function.Supplier;
+
+/**
+ * Monitor whose {@code synchronized} regions are reported to a {@link LockOrderDetector}. Use {@link #run} or
+ * {@link #call} instead of a {@code synchronized} block on a plain object.
+ */
+public class OrderedMonitor {
+
+    private final LockOrderDetector detector;
+    private final int id;
+    private final String name;
+
+    OrderedMonitor(LockOrderDetector detector, int id, String name) {
+        this.detector = detector;
+        this.id = id;
+        this.name = name;
+    }
+
+    public void run(Runnable body) {
+        call(() -> {
+            body.run();
+            return null;
+        });
+    }
+
+    public <T> T call(Supplier<T> body) {
+        boolean first = !Thread.holdsLock(this);
+        if (first) {
+            detector.beforeAcquire(id);
+        }
+        synchronized (this) {
+            if (first) {
+                detector.acquired(id);
+            }
+            try {
+                return body.get();
+            } finally {
+                if (first) {
+                    detector.released(id);
+                }
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderedMonitor{" + name + '}';
+    }
+}
@@ -0,0 +1,78 @@
+package sekury.concurrency.deadlock;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A cycle in the lock acquisition order. Each step says which thread acquired {@code to} while holding
+ * {@code from}, and where, the first time it happened.
+ */
+public final class PotentialDeadlock {
+
+    private final List<Step> steps;
+
+    PotentialDeadlock(List<Step> steps) {
+        this.steps = Collections.unmodifiableList(steps);
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Potential deadlock, inconsistent lock order:");
+        for (Step step : steps) {
+            sb.append(System.lineSeparator()).append("  ").append(step);
+        }
+        return sb.toString();
+    }
+
+    public static final class Step {
+        private final String from;
+        private final String to;
+        private final String thread;
+        private final StackTraceElement[] stackTrace;
+
+        Step(String from, String to, String thread, StackTraceElement[] stackTrace) {
+            this.from = from;
+            this.to = to;
+            this.thread = thread;
+            this.stackTrace = stackTrace;
+        }
+
+        public String getFrom() {
+            return from;
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public StackTraceElement[] getStackTrace() {
+            return stackTrace.clone();
+        }
+
+        @Override
+        public String toString() {
+            String at = "";
+            for (StackTraceElement element : stackTrace) {
+                if (!isInternal(element.getClassName())) {
+                    at = " at " + element;
+                    break;
+                }
+            }
+            return String.format("thread %s acquired %s while holding %s%s", thread, to, from, at);
+        }
+
+        private static boolean isInternal(String className) {
+            return className.equals(LockOrderDetector.class.getName())
+                    || className.startsWith(OrderedLock.class.getName())
+                    || className.startsWith(OrderedMonitor.class.getName());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package sekury.concurrency.essentials;
 
+import sekury.concurrency.threads.ThreadMode;
+
 public class JavaThreadDeadlockDemo {
 
     private final Object lock1 = new Object();
@@ -25,9 +27,9 @@ public class JavaThreadDeadlockDemo {
         }
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         final JavaThreadDeadlockDemo deadlockDemo = new JavaThreadDeadlockDemo();
-        Thread first = new Thread(() -> {
+        Thread first = ThreadMode.current().newThread(() -> {
             while (true) {
                 deadlockDemo.instanceMethod1();
                 try {
@@ -35,7 +37,7 @@ public class JavaThreadDeadlockDemo {
                 } catch (InterruptedException e) {}
             }
         });
-        Thread second = new Thread(() -> {
+        Thread second = ThreadMode.current().newThread(() -> {
             while (true) {
                 deadlockDemo.instanceMethod2();
                 try {
@@ -45,5 +47,7 @@ public class JavaThreadDeadlockDemo {
         });
         first.start();
         second.start();
+        first.join();  // virtual threads are daemons
+        second.join();
     }
 }
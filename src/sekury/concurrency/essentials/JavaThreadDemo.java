@@ -1,5 +1,7 @@
 package sekury.concurrency.essentials;
 
+import sekury.concurrency.threads.ThreadMode;
+
 public class JavaThreadDemo {
 
     public static void printThreadInfo(Thread t) {
@@ -21,12 +23,12 @@ public class JavaThreadDemo {
             Thread t = Thread.currentThread();
             printThreadInfo(t); // RUNNABLE state, alive: thread is started and running
         };
-        Thread t1 = new Thread(r1);
+        Thread t1 = ThreadMode.current().newThread(r1);
         t1.setName("t1");
         t1.setPriority(Thread.MIN_PRIORITY);
         printThreadInfo(t1); // NEW state, not alive: thread has not yet started
 
-        Thread t2 = new Thread(() -> {
+        Thread t2 = ThreadMode.current().newThread(() -> {
             System.out.println("Hello from daemon thread");
             Thread t = Thread.currentThread();
             while (true) {
@@ -37,11 +39,12 @@ public class JavaThreadDemo {
                 }
                 System.out.printf("Thread %s is in a busy-loop%n", t.getName());
             }
-        }, "t2");
-        t2.setDaemon(true);
+        });
+        t2.setName("t2");
+        t2.setDaemon(true); // virtual threads are always daemons, and ignore priorities
         t2.setPriority(Thread.MAX_PRIORITY);
 
-        Thread t3 = new Thread(() -> {
+        Thread t3 = ThreadMode.current().newThread(() -> {
             Thread t = Thread.currentThread();
             while (true) {
                 printThreadInfo(t);
@@ -55,7 +58,8 @@ public class JavaThreadDemo {
                     break;
                 }
             }
-        }, "t3");
+        });
+        t3.setName("t3");
 
         t1.start();
         t2.start();
@@ -71,6 +75,11 @@ public class JavaThreadDemo {
 
         System.out.printf("Thread %s is%s interrupted%n", t3.getName(), t3.isInterrupted() ? "" : " not");
         t3.interrupt(); // Set interrupt status
+        try {
+            t3.join(); // a virtual t3 would not keep the JVM alive
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
 
         System.out.println("END");
     }
@@ -1,5 +1,7 @@
 package sekury.concurrency.essentials;
 
+import sekury.concurrency.threads.ThreadMode;
+
 public class JavaThreadSyncDemo {
 
     public static class Counter {
@@ -23,7 +25,7 @@ public class JavaThreadSyncDemo {
         Counter c = new Counter();
         System.out.println(c.getNext());
         System.out.println(StaticCounter.getNext());
-        Thread t = new Thread(() -> {
+        Thread t = ThreadMode.current().newThread(() -> {
             synchronized (o) {
                 result++;
             }
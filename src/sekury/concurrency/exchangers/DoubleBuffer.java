@@ -0,0 +1,107 @@
+package sekury.concurrency.exchangers;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Two preallocated buffers swapped between one producer and one consumer. The producer fills its buffer while the
+ * consumer drains the other one, then both swap through a {@link SpinExchanger}. Nothing is allocated after
+ * construction.
+ *
+ * @param <B> buffer type
+ */
+public class DoubleBuffer<B> {
+
+    private final SpinExchanger<B> exchanger = new SpinExchanger<>();
+    private final End producer;
+    private final End consumer;
+
+    /**
+     * @param factory creates the two buffers
+     * @param publish applied by the producer to a full buffer before handing it to the consumer
+     * @param recycle applied by the producer to a drained buffer it receives back from the consumer
+     */
+    public DoubleBuffer(Supplier<? extends B> factory, Consumer<? super B> publish, Consumer<? super B> recycle) {
+        this.producer = new End(factory.get(), publish, recycle);
+        this.consumer = new End(factory.get(), b -> {}, b -> {});
+    }
+
+    public static DoubleBuffer<IntBatch> ofInts(int capacity) {
+        return new DoubleBuffer<>(() -> new IntBatch(capacity), b -> {}, IntBatch::clear);
+    }
+
+    public static DoubleBuffer<LongBatch> ofLongs(int capacity) {
+        return new DoubleBuffer<>(() -> new LongBatch(capacity), b -> {}, LongBatch::clear);
+    }
+
+    public static DoubleBuffer<ByteBuffer> ofBytes(int capacity, boolean direct) {
+        return new DoubleBuffer<>(() -> direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity),
+                ByteBuffer::flip, ByteBuffer::clear);
+    }
+
+    /**
+     * The producer side. The buffer it starts with is empty.
+     */
+    public End producer() {
+        return producer;
+    }
+
+    /**
+     * The consumer side. Its first {@link End#swap()} waits for the first full buffer.
+     */
+    public End consumer() {
+        return consumer;
+    }
+
+    public final class End {
+
+        private B current;
+        private boolean published;
+        private final Consumer<? super B> publish;
+        private final Consumer<? super B> recycle;
+
+        End(B initial, Consumer<? super B> publish, Consumer<? super B> recycle) {
+            this.current = initial;
+            this.publish = publish;
+            this.recycle = recycle;
+        }
+
+        public B current() {
+            return current;
+        }
+
+        /**
+         * Hands the current buffer to the other side and waits for the other side's buffer.
+         */
+        public B swap() throws InterruptedException {
+            publish();
+            return received(exchanger.exchange(current));
+        }
+
+        /**
+         * Like {@link #swap()}, but gives up after the given time. The current buffer is kept on timeout and is
+         * handed over by the next swap without being published again.
+         */
+        public B swap(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+            publish();
+            return received(exchanger.exchange(current, timeout, unit));
+        }
+
+        private void publish() {
+            if (!published) {
+                publish.accept(current);
+                published = true;
+            }
+        }
+
+        private B received(B buffer) {
+            published = false;
+            recycle.accept(buffer);
+            current = buffer;
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package sekury.concurrency.exchangers;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+public class DoubleBufferDemo {
+
+    private static final int BATCHES = 100_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        DoubleBuffer<IntBatch> ints = DoubleBuffer.ofInts(1024);
+
+        Thread producer = new Thread(() -> {
+            DoubleBuffer<IntBatch>.End end = ints.producer();
+            IntBatch batch = end.current();
+            int count = 0;
+            try {
+                for (int n = 0; n < BATCHES; n++) {
+                    while (batch.add(count)) {
+                        count++;
+                    }
+                    batch = end.swap();
+                }
+            } catch (InterruptedException e) {
+                System.out.println("Producer interrupted");
+            }
+        });
+
+        Thread consumer = new Thread(() -> {
+            DoubleBuffer<IntBatch>.End end = ints.consumer();
+            long sum = 0;
+            long received = 0;
+            long start = System.nanoTime();
+            try {
+                for (int n = 0; n < BATCHES; n++) {
+                    IntBatch batch = end.swap();
+                    while (!batch.isEmpty()) {
+                        sum += batch.remove();
+                        received++;
+                    }
+                }
+            } catch (InterruptedException e) {
+                System.out.println("Consumer interrupted");
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            System.out.printf("Consumer received %d ints (sum %d) in %d ms%n", received, sum, elapsed);
+        });
+
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+
+        DoubleBuffer<ByteBuffer> bytes = DoubleBuffer.ofBytes(16, false);
+        Thread writer = new Thread(() -> {
+            try {
+                ByteBuffer buffer = bytes.producer().current();
+                buffer.putInt(42).putLong(System.nanoTime());
+                bytes.producer().swap();
+            } catch (InterruptedException e) {
+                System.out.println("Writer interrupted");
+            }
+        });
+        writer.start();
+        ByteBuffer buffer = bytes.consumer().swap();
+        System.out.printf("Reader received %d bytes, first int %d%n", buffer.remaining(), buffer.getInt());
+        writer.join();
+    }
+}
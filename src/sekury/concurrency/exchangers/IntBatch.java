@@ -0,0 +1,78 @@
+package sekury.concurrency.exchangers;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Fixed-capacity batch of primitive {@code int} values. Values are appended at the end and removed from the front
+ * in O(1). A batch is not thread-safe, it is owned by one thread at a time and handed over through an exchanger.
+ */
+public final class IntBatch {
+
+    private final int[] values;
+    private int size;
+    private int position;
+
+    public IntBatch(int capacity) {
+        this.values = new int[capacity];
+    }
+
+    public boolean add(int value) {
+        if (size == values.length) {
+            return false;
+        }
+        values[size++] = value;
+        return true;
+    }
+
+    public int remove() {
+        if (position == size) {
+            throw new NoSuchElementException();
+        }
+        return values[position++];
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return values[index];
+    }
+
+    public int[] array() {
+        return values;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int remaining() {
+        return size - position;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isFull() {
+        return size == values.length;
+    }
+
+    public boolean isEmpty() {
+        return position == size;
+    }
+
+    public void clear() {
+        size = 0;
+        position = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "IntBatch{" +
+                "size=" + size +
+                ", remaining=" + remaining() +
+                ", capacity=" + values.length +
+                '}';
+    }
+}
@@ -0,0 +1,140 @@
+package sekury.concurrency.exchangers;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Two-party exchanger with a single slot. The first thread to arrive publishes its per-thread node in the slot and
+ * spins (yielding now and then) for a while before parking; the second one takes the node, hands over its item and unparks the first.
+ * Nodes are reused, so an exchange does not allocate once each thread has exchanged at least once.
+ * <p>
+ * Unlike {@link java.util.concurrent.Exchanger} it has no arena, it is meant for exactly two threads.
+ */
+public class SpinExchanger<V> {
+
+    private static final int SPINS = 1 << 10;
+    private static final int YIELD_MASK = Runtime.getRuntime().availableProcessors() > 1 ? (1 << 7) - 1 : 0;
+
+    private static final VarHandle SLOT;
+
+    static {
+        try {
+            SLOT = MethodHandles.lookup().findVarHandle(SpinExchanger.class, "slot", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Node slot;
+    private final ThreadLocal<Node> nodes = ThreadLocal.withInitial(Node::new);
+
+    public V exchange(V item) throws InterruptedException {
+        try {
+            return exchange(item, false, 0L);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public V exchange(V item, long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        return exchange(item, true, unit.toNanos(timeout));
+    }
+
+    @SuppressWarnings("unchecked")
+    private V exchange(V item, boolean timed, long nanos) throws InterruptedException, TimeoutException {
+        Objects.requireNonNull(item);
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        // the spin phase counts against the timeout too, on a single core every spin yields the CPU
+        long deadline = timed ? System.nanoTime() + nanos : 0L;
+        Node me = nodes.get();
+        while (true) {
+            Node other = slot;
+            if (other != null) {
+                if (SLOT.compareAndSet(this, other, null)) {
+                    Object received = other.item;
+                    other.item = null;
+                    other.match = item;
+                    Thread waiter = other.waiter;
+                    if (waiter != null) {
+                        LockSupport.unpark(waiter);
+                    }
+                    return (V) received;
+                }
+            } else {
+                me.match = null;
+                me.item = item;
+                if (SLOT.compareAndSet(this, null, me)) {
+                    return (V) await(me, timed, deadline);
+                }
+            }
+        }
+    }
+
+    private Object await(Node me, boolean timed, long deadline) throws InterruptedException, TimeoutException {
+        Object match;
+        for (int spins = SPINS; spins > 0; spins--) {
+            if ((match = me.match) != null) {
+                return consume(me, match);
+            }
+            if (timed && deadline - System.nanoTime() <= 0) {
+                // leave the node to the loop below, which withdraws it or waits for the match already on the way
+                break;
+            }
+            if ((spins & YIELD_MASK) == 0) {
+                // let the other party run, on a single core it is the only way to make progress
+                Thread.yield();
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        me.waiter = Thread.currentThread();
+        try {
+            while ((match = me.match) == null) {
+                boolean interrupted = Thread.interrupted();
+                boolean expired = timed && deadline - System.nanoTime() <= 0;
+                if (interrupted || expired) {
+                    if (SLOT.compareAndSet(this, me, null)) {
+                        me.item = null;
+                        if (interrupted) {
+                            throw new InterruptedException();
+                        }
+                        throw new TimeoutException();
+                    }
+                    // the other party already took our node, its item is on the way
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                    while ((match = me.match) == null) {
+                        Thread.onSpinWait();
+                    }
+                    break;
+                }
+                if (timed) {
+                    LockSupport.parkNanos(this, deadline - System.nanoTime());
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+        } finally {
+            me.waiter = null;
+        }
+        return consume(me, match);
+    }
+
+    private static Object consume(Node me, Object match) {
+        me.match = null;
+        return match;
+    }
+
+    private static final class Node {
+        volatile Object item;
+        volatile Object match;
+        volatile Thread waiter;
+    }
+}
@@ -0,0 +1,376 @@
+package sekury.concurrency.executors;
+
+import sekury.concurrency.executors.PoolMetrics.Decision;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Pool that sizes itself from what it measures: how long tasks wait in the queue, how long they run, how much CPU
+ * time the workers use and how many tasks complete per second. Every tuning interval it
+ * <ul>
+ * <li>grows while tasks wait longer than the target, towards the size that Little's law asks for (arrival rate
+ * times service time), by at least one worker, at most doubling and no further than the idle share of the cores
+ * allows;</li>
+ * <li>removes workers one by one while tasks wait but the workers already keep the cores busy, since the wall-clock
+ * service time then includes waiting for a core and more workers would only lengthen it;</li>
+ * <li>undoes the last growth if it did not raise throughput, holds for a while and then removes workers one by one
+ * for as long as throughput does not drop;</li>
+ * <li>shrinks by a quarter while the workers are mostly idle.</li>
+ * </ul>
+ * So CPU-bound work stays at a small multiple of the number of cores and blocking work gets as many workers as it
+ * keeps busy, within {@code minThreads} and {@code maxThreads}. Without per-thread CPU time from the JVM, only the
+ * throughput check limits growth. A task is rejected when the queue is full or when the queued tasks would already
+ * keep the current workers busy for longer than {@code maxWait}.
+ */
+public class ElasticExecutor extends AbstractExecutorService {
+
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+
+    private static final long TUNE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final double TARGET_UTILIZATION = 0.8;
+    private static final double MIN_GAIN = 1.05;
+    private static final int HOLD_INTERVALS = 10;
+    private static final double CPU_SATURATION = 0.9;
+
+    private static final AtomicInteger poolIds = new AtomicInteger();
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private static final int cores = Runtime.getRuntime().availableProcessors();
+
+    private final int poolId = poolIds.incrementAndGet();
+    private final int minThreads;
+    private final int maxThreads;
+    private final long targetWaitNanos;
+    private final long maxWaitNanos;
+    private final BlockingQueue<Entry> queue;
+    private final Set<Worker> workers = new HashSet<>();
+    private final AtomicInteger poolSize = new AtomicInteger();
+    private final AtomicInteger workerIds = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder serviceNanos = new LongAdder();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final Thread tuner;
+    private volatile int state = RUNNING;
+    private volatile int targetSize;
+    private volatile PoolMetrics metrics;
+    private volatile Consumer<PoolMetrics> listener = m -> {
+    };
+
+    // tuner thread only
+    private Decision lastDecision = Decision.START;
+    private double lastThroughput;
+    private int previousSize;
+    private int holdLeft;
+    private boolean probeDown;
+
+    /**
+     * Aims at 10 ms of queue wait, and sheds load beyond 10 000 queued tasks or 1 s of estimated wait.
+     */
+    public ElasticExecutor(int minThreads, int maxThreads) {
+        this(minThreads, maxThreads, 10_000, 10, 1_000, TimeUnit.MILLISECONDS);
+    }
+
+    public ElasticExecutor(int minThreads, int maxThreads, int queueCapacity, long targetWait, long maxWait,
+                           TimeUnit unit) {
+        if (minThreads <= 0 || maxThreads < minThreads) {
+            throw new IllegalArgumentException("Need 0 < minThreads <= maxThreads: " + minThreads + ", " + maxThreads);
+        }
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.targetWaitNanos = unit.toNanos(targetWait);
+        this.maxWaitNanos = unit.toNanos(maxWait);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.targetSize = minThreads;
+        this.metrics = new PoolMetrics(0, minThreads, 0, 0, 0, 0, 0, 0, 0, Decision.START);
+        addWorkers(minThreads);
+        this.tuner = new Thread(this::tuneLoop, "elastic-" + poolId + "-tuner");
+        tuner.setDaemon(true);
+        tuner.start();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Objects.requireNonNull(command);
+        if (state != RUNNING) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        int queued = queue.size();
+        if (queued > 0 && metrics.getMeanServiceNanos() * queued / Math.max(1, poolSize.get()) > maxWaitNanos) {
+            rejected.increment();
+            throw new RejectedExecutionException("Estimated queue wait is over " + maxWaitNanos + " ns");
+        }
+        Entry entry = new Entry(command, System.nanoTime());
+        if (!queue.offer(entry)) {
+            rejected.increment();
+            throw new RejectedExecutionException("Queue is full");
+        }
+        // the workers may have seen an empty queue and exited since the check above
+        if (state != RUNNING && queue.remove(entry)) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        submitted.increment();
+    }
+
+    public int getPoolSize() {
+        return poolSize.get();
+    }
+
+    public int getQueuedTaskCount() {
+        return queue.size();
+    }
+
+    /**
+     * Measurements and decision of the last tuning interval.
+     */
+    public PoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Receives the metrics of every tuning interval on the tuner thread.
+     */
+    public void setMetricsListener(Consumer<PoolMetrics> listener) {
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    @Override
+    public void shutdown() {
+        if (state == RUNNING) {
+            state = SHUTDOWN;
+        }
+        LockSupport.unpark(tuner);
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        state = STOP;
+        LockSupport.unpark(tuner);
+        List<Entry> entries = new ArrayList<>();
+        queue.drainTo(entries);
+        List<Runnable> pending = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            pending.add(entry.task);
+        }
+        synchronized (workers) {
+            workers.forEach(Thread::interrupt);
+        }
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return state != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    private void addWorkers(int count) {
+        synchronized (workers) {
+            for (int i = 0; i < count && state == RUNNING; i++) {
+                poolSize.incrementAndGet();
+                Worker worker = new Worker("elastic-" + poolId + "-worker-" + workerIds.getAndIncrement());
+                workers.add(worker);
+                worker.start();
+            }
+        }
+    }
+
+    private void tuneLoop() {
+        long last = System.nanoTime();
+        while (state == RUNNING) {
+            LockSupport.parkNanos(TUNE_INTERVAL_NANOS);
+            long now = System.nanoTime();
+            if (now - last >= TUNE_INTERVAL_NANOS && state == RUNNING) {
+                tune(now - last);
+                last = now;
+            }
+        }
+    }
+
+    private void tune(long elapsed) {
+        long done = completed.sumThenReset();
+        long arrivals = submitted.sumThenReset();
+        long wait = waitNanos.sumThenReset();
+        long service = serviceNanos.sumThenReset();
+        long shed = rejected.sumThenReset();
+        long cpu = workerCpuNanos();
+        int size = poolSize.get();
+        int queued = queue.size();
+
+        double seconds = elapsed / 1e9;
+        double throughput = done / seconds;
+        // when nothing completed, queued tasks have waited at least the whole interval
+        long meanWait = done > 0 ? wait / done : queued > 0 ? elapsed : 0;
+        long meanService = done > 0 ? service / done : metrics.getMeanServiceNanos();
+        double utilization = service / (elapsed * (double) size);
+        // share of the cores the workers kept busy, 0 if the JVM cannot tell
+        double cpuLoad = cpu / (elapsed * (double) cores);
+        // Little's law: busy workers = arrival rate x service time
+        int needed = (int) Math.ceil(arrivals / seconds * meanService / 1e9 / TARGET_UTILIZATION);
+
+        int target = size;
+        Decision decision = Decision.HOLD;
+        if (holdLeft > 0) {
+            holdLeft--;
+        } else if (meanWait > targetWaitNanos && queued > 0) {
+            if (lastDecision == Decision.GROW && throughput < lastThroughput * MIN_GAIN
+                    || lastDecision == Decision.SHRINK && throughput * MIN_GAIN < lastThroughput) {
+                target = Math.max(minThreads, Math.min(maxThreads, previousSize));
+                decision = Decision.REVERT;
+                holdLeft = HOLD_INTERVALS;
+                // growing did not help, so probe whether fewer workers do as well
+                probeDown = lastDecision == Decision.GROW;
+            } else if ((probeDown || cpuLoad >= CPU_SATURATION) && size > minThreads) {
+                target = size - 1;
+                decision = Decision.SHRINK;
+            } else if (size < maxThreads && cpuLoad < CPU_SATURATION) {
+                int limit = 2 * size;
+                if (cpuLoad > 0) {
+                    // the CPU time of the workers grows with their number
+                    limit = Math.min(limit, (int) (size * CPU_SATURATION / cpuLoad));
+                }
+                target = Math.min(maxThreads, Math.max(size + 1, Math.min(needed, limit)));
+                decision = Decision.GROW;
+            }
+        } else if (utilization < TARGET_UTILIZATION / 2 && queued == 0 && size > minThreads) {
+            probeDown = false;
+            target = Math.max(minThreads, Math.max(needed, size - Math.max(1, size / 4)));
+            if (target < size) {
+                decision = Decision.SHRINK;
+            }
+        }
+
+        previousSize = size;
+        lastThroughput = throughput;
+        lastDecision = decision;
+        targetSize = target;
+        if (target > size) {
+            addWorkers(target - size);
+        }
+        metrics = new PoolMetrics(size, target, queued, throughput, meanWait, meanService, utilization, cpuLoad,
+                shed, decision);
+        listener.accept(metrics);
+    }
+
+    /**
+     * CPU time the workers used since the last call, measured by the tuner so that tasks do not pay for it.
+     * Workers that exited in between lose their last share.
+     */
+    private long workerCpuNanos() {
+        if (!threadBean.isThreadCpuTimeSupported() || !threadBean.isThreadCpuTimeEnabled()) {
+            return 0;
+        }
+        long total = 0;
+        synchronized (workers) {
+            for (Worker worker : workers) {
+                long cpu = threadBean.getThreadCpuTime(worker.getId());
+                if (cpu >= 0) {
+                    total += cpu - worker.lastCpuNanos;
+                    worker.lastCpuNanos = cpu;
+                }
+            }
+        }
+        return total;
+    }
+
+    private static final class Entry {
+        final Runnable task;
+        final long enqueued;
+
+        Entry(Runnable task, long enqueued) {
+            this.task = task;
+            this.enqueued = enqueued;
+        }
+    }
+
+    private final class Worker extends Thread {
+
+        private boolean counted = true;
+        // tuner thread only
+        private long lastCpuNanos;
+
+        Worker(String name) {
+            super(name);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!shouldExit()) {
+                    Entry entry;
+                    try {
+                        entry = queue.poll(TUNE_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException e) {
+                        continue;
+                    }
+                    if (entry != null) {
+                        runTask(entry);
+                    }
+                }
+            } finally {
+                synchronized (workers) {
+                    workers.remove(this);
+                }
+                if (counted) {
+                    poolSize.decrementAndGet();
+                }
+                if (state != RUNNING && poolSize.get() == 0) {
+                    terminated.countDown();
+                }
+            }
+        }
+
+        private boolean shouldExit() {
+            if (state == STOP || state == SHUTDOWN && queue.isEmpty()) {
+                return true;
+            }
+            int size = poolSize.get();
+            if (size > targetSize && poolSize.compareAndSet(size, size - 1)) {
+                counted = false;
+                return true;
+            }
+            return false;
+        }
+
+        private void runTask(Entry entry) {
+            long start = System.nanoTime();
+            waitNanos.add(start - entry.enqueued);
+            // clear an interrupt left over from a previous task
+            Thread.interrupted();
+            try {
+                entry.task.run();
+            } catch (Throwable t) {
+                Thread.UncaughtExceptionHandler handler = getUncaughtExceptionHandler();
+                if (handler != null) {
+                    handler.uncaughtException(this, t);
+                }
+            } finally {
+                serviceNanos.add(System.nanoTime() - start);
+                completed.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package sekury.concurrency.executors;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class ElasticExecutorDemo {
+
+    public static void main(String[] args) throws InterruptedException {
+        ElasticExecutor executor = new ElasticExecutor(1, 64);
+        executor.setMetricsListener(metrics -> {
+            if (metrics.getDecision() != PoolMetrics.Decision.HOLD) {
+                System.out.println("  " + metrics);
+            }
+        });
+
+        System.out.println("Blocking tasks of 20 ms, 400 per second");
+        run(executor, 400, () -> sleep(20));
+        System.out.println("CPU-bound tasks of 1 ms, 4000 per second");
+        run(executor, 4000, () -> spin(1));
+        while (executor.getQueuedTaskCount() > 0) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        System.out.println("Idle");
+        TimeUnit.SECONDS.sleep(2);
+        System.out.println("Pool size: " + executor.getPoolSize());
+
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private static void run(ElasticExecutor executor, int perSecond, Runnable task) throws InterruptedException {
+        int rejected = 0;
+        long start = System.nanoTime();
+        long submitted = 0;
+        for (long elapsed = 0; elapsed < 3000; elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)) {
+            // catch up with the rate, sleeping takes longer than asked for
+            for (; submitted < elapsed * perSecond / 1000; submitted++) {
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    rejected++;
+                }
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        System.out.printf("  pool size %d, rejected %d, last interval: %s%n",
+                executor.getPoolSize(), rejected, executor.getMetrics());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void spin(long millis) {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
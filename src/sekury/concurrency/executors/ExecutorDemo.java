@@ -1,5 +1,7 @@
 package sekury.concurrency.executors;
 
+import sekury.concurrency.threads.ThreadMode;
+
 import java.util.concurrent.*;
 
 public class ExecutorDemo {
@@ -11,11 +13,11 @@ public class ExecutorDemo {
         }
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         Executor directExecutor = new DirectExecutor();
         directExecutor.execute(() -> System.out.println("Hello my executor!"));
 
-        ExecutorService runnableExecutor = Executors.newFixedThreadPool(1);
+        ExecutorService runnableExecutor = ThreadMode.current().newExecutor(1);
         runnableExecutor.execute(() -> {
             try {
                 TimeUnit.MILLISECONDS.sleep(5000);
@@ -26,7 +28,7 @@ public class ExecutorDemo {
         });
         runnableExecutor.shutdown();
 
-        ExecutorService callableExecutor = Executors.newFixedThreadPool(1);
+        ExecutorService callableExecutor = ThreadMode.current().newExecutor(1);
         Future<String> task = callableExecutor.submit(() -> "Hello future!");
         while (!task.isDone()) {
             System.out.println("Waiting...");
@@ -39,5 +41,6 @@ public class ExecutorDemo {
             e.printStackTrace();
         }
         callableExecutor.shutdown();
+        runnableExecutor.awaitTermination(1, TimeUnit.MINUTES);  // virtual threads are daemons
     }
 }
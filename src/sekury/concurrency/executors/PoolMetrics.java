@@ -0,0 +1,112 @@
+package sekury.concurrency.executors;
+
+/**
+ * What an {@link ElasticExecutor} measured over one tuning interval and what it decided.
+ */
+public final class PoolMetrics {
+
+    public enum Decision {
+        /** Nothing measured yet. */
+        START,
+        /** Tasks wait too long and more workers still paid off. */
+        GROW,
+        /** Workers are mostly idle, the cores are saturated, or fewer workers are tried after growing did not pay
+         * off. */
+        SHRINK,
+        /** The pool fits the load, or it waits after a revert before probing again. */
+        HOLD,
+        /** The last growth did not raise throughput, e.g. because the CPUs are saturated, or the last shrink
+         * lowered it, so it was undone. */
+        REVERT
+    }
+
+    private final int poolSize;
+    private final int targetSize;
+    private final int queued;
+    private final double throughput;
+    private final long meanWaitNanos;
+    private final long meanServiceNanos;
+    private final double utilization;
+    private final double cpuLoad;
+    private final long rejected;
+    private final Decision decision;
+
+    PoolMetrics(int poolSize, int targetSize, int queued, double throughput, long meanWaitNanos,
+                long meanServiceNanos, double utilization, double cpuLoad, long rejected, Decision decision) {
+        this.poolSize = poolSize;
+        this.targetSize = targetSize;
+        this.queued = queued;
+        this.throughput = throughput;
+        this.meanWaitNanos = meanWaitNanos;
+        this.meanServiceNanos = meanServiceNanos;
+        this.utilization = utilization;
+        this.cpuLoad = cpuLoad;
+        this.rejected = rejected;
+        this.decision = decision;
+    }
+
+    /**
+     * Workers during the interval.
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Workers the pool moves to after the decision.
+     */
+    public int getTargetSize() {
+        return targetSize;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * Completed tasks per second.
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public long getMeanWaitNanos() {
+        return meanWaitNanos;
+    }
+
+    public long getMeanServiceNanos() {
+        return meanServiceNanos;
+    }
+
+    /**
+     * Share of the interval the workers spent running tasks.
+     */
+    public double getUtilization() {
+        return utilization;
+    }
+
+    /**
+     * Share of the cores the workers kept busy, 0 where the JVM does not measure thread CPU time.
+     */
+    public double getCpuLoad() {
+        return cpuLoad;
+    }
+
+    /**
+     * Tasks rejected during the interval.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    public Decision getDecision() {
+        return decision;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %d->%d queued=%d throughput=%.0f/s wait=%dus service=%dus utilization=%.2f cpu=%.2f"
+                        + " rejected=%d", decision, poolSize, targetSize, queued, throughput, meanWaitNanos / 1000,
+                meanServiceNanos / 1000, utilization, cpuLoad, rejected);
+    }
+}
@@ -0,0 +1,50 @@
+package sekury.concurrency.executors;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WorkStealingDemo {
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        WorkStealingExecutor executor = new WorkStealingExecutor(4);
+
+        Future<String> future = executor.submit(() -> "Hello work stealing!");
+        System.out.println(future.get());
+
+        // every task forks two children until the depth runs out; children land in the forking worker's deque
+        int depth = 16;
+        AtomicLong leaves = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(1 << depth);
+        executor.execute(new Fork(executor, depth, leaves, done));
+        done.await();
+        System.out.printf("Leaves: %d, steals: %d%n", leaves.get(), executor.getStealCount());
+
+        executor.shutdown();
+        System.out.println("Terminated: " + executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    static class Fork implements Runnable {
+        private final Executor executor;
+        private final int depth;
+        private final AtomicLong leaves;
+        private final CountDownLatch done;
+
+        Fork(Executor executor, int depth, AtomicLong leaves, CountDownLatch done) {
+            this.executor = executor;
+            this.depth = depth;
+            this.leaves = leaves;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            if (depth == 0) {
+                leaves.incrementAndGet();
+                done.countDown();
+                return;
+            }
+            executor.execute(new Fork(executor, depth - 1, leaves, done));
+            executor.execute(new Fork(executor, depth - 1, leaves, done));
+        }
+    }
+}
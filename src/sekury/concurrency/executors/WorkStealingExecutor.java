@@ -0,0 +1,266 @@
+package sekury.concurrency.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed pool of workers, each owning a {@link WorkStealingDeque}.
+ * <p>
+ * Tasks submitted by a worker of this pool go to the bottom of its own deque, without touching any shared state.
+ * Tasks submitted from outside go to a shared submission queue. A worker that runs out of local work takes from
+ * the submission queue, then tries to steal from randomly chosen workers, and finally parks until new work is
+ * signalled.
+ */
+public class WorkStealingExecutor extends AbstractExecutorService {
+
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+
+    private static final AtomicInteger poolIds = new AtomicInteger();
+
+    private final Worker[] workers;
+    private final Queue<Runnable> submissions = new ConcurrentLinkedQueue<>();
+    private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch terminated;
+    private volatile int state = RUNNING;
+
+    public WorkStealingExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public WorkStealingExecutor(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        int poolId = poolIds.incrementAndGet();
+        this.workers = new Worker[parallelism];
+        this.terminated = new CountDownLatch(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i, "work-stealing-" + poolId + "-worker-" + i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Objects.requireNonNull(command);
+        if (state != RUNNING) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        Thread current = Thread.currentThread();
+        if (current instanceof Worker && ((Worker) current).pool() == this) {
+            ((Worker) current).deque.push(command);
+        } else {
+            submissions.add(command);
+            // the workers may have seen no work and exited since the check above
+            if (state != RUNNING && submissions.remove(command)) {
+                throw new RejectedExecutionException("Executor is shut down");
+            }
+        }
+        signalWork();
+    }
+
+    public int getParallelism() {
+        return workers.length;
+    }
+
+    /**
+     * Number of tasks waiting in the submission queue and in the worker deques, approximate.
+     */
+    public int getQueuedTaskCount() {
+        int count = submissions.size();
+        for (Worker worker : workers) {
+            count += worker.deque.size();
+        }
+        return count;
+    }
+
+    public long getStealCount() {
+        long steals = 0;
+        for (Worker worker : workers) {
+            steals += worker.steals;
+        }
+        return steals;
+    }
+
+    @Override
+    public void shutdown() {
+        if (state == RUNNING) {
+            state = SHUTDOWN;
+        }
+        wakeAll();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        state = STOP;
+        List<Runnable> pending = new ArrayList<>();
+        Runnable task;
+        while ((task = submissions.poll()) != null) {
+            pending.add(task);
+        }
+        for (Worker worker : workers) {
+            // steal() also returns null when it loses a race with the owner, so drain until the deque is empty
+            while (!worker.deque.isEmpty()) {
+                if ((task = worker.deque.steal()) != null) {
+                    pending.add(task);
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+            worker.interrupt();
+        }
+        wakeAll();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return state != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    private void signalWork() {
+        Worker idle = idleWorkers.poll();
+        if (idle != null) {
+            idle.idle = false;
+            LockSupport.unpark(idle);
+        }
+    }
+
+    private void wakeAll() {
+        Worker idle;
+        while ((idle = idleWorkers.poll()) != null) {
+            idle.idle = false;
+            LockSupport.unpark(idle);
+        }
+    }
+
+    private boolean hasWork() {
+        if (!submissions.isEmpty()) {
+            return true;
+        }
+        for (Worker worker : workers) {
+            if (!worker.deque.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class Worker extends Thread {
+
+        final int index;
+        final WorkStealingDeque deque = new WorkStealingDeque();
+        volatile boolean idle;
+        volatile long steals;
+        private int seed;
+
+        Worker(int index, String name) {
+            super(name);
+            this.index = index;
+            this.seed = index * 0x9E3779B9 | 1;
+        }
+
+        WorkStealingExecutor pool() {
+            return WorkStealingExecutor.this;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (state != STOP) {
+                    Runnable task = findTask();
+                    if (task != null) {
+                        // clear an interrupt left over from awaitWork or from a previous task
+                        Thread.interrupted();
+                        runTask(task);
+                    } else if (state != RUNNING && !hasWork()) {
+                        break;
+                    } else {
+                        awaitWork();
+                    }
+                }
+            } finally {
+                terminated.countDown();
+            }
+        }
+
+        private Runnable findTask() {
+            Runnable task = deque.pop();
+            if (task == null) {
+                task = submissions.poll();
+            }
+            if (task == null) {
+                task = steal();
+            }
+            return task;
+        }
+
+        private Runnable steal() {
+            int n = workers.length;
+            for (int attempt = 0; attempt < n; attempt++) {
+                seed ^= seed << 13;
+                seed ^= seed >>> 17;
+                seed ^= seed << 5;
+                Worker victim = workers[(seed & Integer.MAX_VALUE) % n];
+                if (victim != this) {
+                    Runnable task = victim.deque.steal();
+                    if (task != null) {
+                        steals++;
+                        return task;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void runTask(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                Thread.UncaughtExceptionHandler handler = getUncaughtExceptionHandler();
+                if (handler != null) {
+                    handler.uncaughtException(this, t);
+                }
+            }
+            // a task that forked more work may have left it in our deque, let idle workers steal it
+            if (!deque.isEmpty() && !idleWorkers.isEmpty()) {
+                signalWork();
+            }
+        }
+
+        private void awaitWork() {
+            idle = true;
+            idleWorkers.add(this);
+            // re-check after publishing ourselves as idle, so a concurrent submit cannot be missed
+            if (hasWork() || state != RUNNING) {
+                if (idleWorkers.remove(this)) {
+                    idle = false;
+                }
+            }
+            while (idle && state == RUNNING) {
+                LockSupport.park(this);
+                Thread.interrupted();
+            }
+            idle = false;
+        }
+    }
+}
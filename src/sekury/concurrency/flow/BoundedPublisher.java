@@ -0,0 +1,290 @@
+package sekury.concurrency.flow;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Flow.Publisher} that gives each subscriber its own bounded buffer and delivers only what the subscriber
+ * has requested. Signals to one subscriber run on the executor as a single task at a time, which delivers up to
+ * {@code maxBatch} items and then resubmits itself, so a busy subscriber does not hold an executor thread forever.
+ * When a buffer is full, the {@link OverflowPolicy} decides between dropping the new item, dropping the oldest one
+ * or blocking {@link #submit}.
+ * <p>
+ * With {@link OverflowPolicy#BLOCK} the executor must have threads left for the subscribers while publishers wait.
+ */
+public class BoundedPublisher<T> implements Flow.Publisher<T>, AutoCloseable {
+
+    private final Executor executor;
+    private final int bufferSize;
+    private final int maxBatch;
+    private final OverflowPolicy policy;
+    private final List<BoundedSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+    private volatile Throwable closedException;
+
+    public BoundedPublisher(Executor executor, int bufferSize, int maxBatch, OverflowPolicy policy) {
+        if (bufferSize <= 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("bufferSize and maxBatch must be positive");
+        }
+        this.executor = Objects.requireNonNull(executor);
+        this.bufferSize = bufferSize;
+        this.maxBatch = maxBatch;
+        this.policy = Objects.requireNonNull(policy);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        BoundedSubscription subscription = new BoundedSubscription(Objects.requireNonNull(subscriber));
+        synchronized (this) {
+            if (!closed) {
+                subscriptions.add(subscription);
+            } else {
+                subscription.done = true;
+            }
+        }
+        subscription.signal();
+    }
+
+    /**
+     * Offers the item to every current subscriber. Returns how many of them had to drop an item, which is always
+     * 0 with {@link OverflowPolicy#BLOCK} unless the waiting thread is interrupted.
+     */
+    public int submit(T item) {
+        Objects.requireNonNull(item);
+        if (closed) {
+            throw new IllegalStateException("Closed");
+        }
+        int drops = 0;
+        for (BoundedSubscription subscription : subscriptions) {
+            if (!subscription.offer(item)) {
+                drops++;
+            }
+        }
+        if (drops > 0) {
+            dropped.addAndGet(drops);
+        }
+        return drops;
+    }
+
+    /**
+     * Completes every subscriber once it has received what is already buffered.
+     */
+    @Override
+    public void close() {
+        complete(null);
+    }
+
+    public void closeExceptionally(Throwable error) {
+        complete(Objects.requireNonNull(error));
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getNumberOfSubscribers() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Items dropped so far over all subscribers.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void complete(Throwable error) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closedException = error;
+            closed = true;
+        }
+        for (BoundedSubscription subscription : subscriptions) {
+            subscription.finish();
+        }
+    }
+
+    private final class BoundedSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Object[] buffer = new Object[bufferSize];
+        private final Object[] batch = new Object[Math.min(maxBatch, bufferSize)];
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private int head;
+        private int count;
+        private boolean subscribed;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile Throwable requestError;
+
+        BoundedSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        boolean offer(T item) {
+            synchronized (this) {
+                if (cancelled) {
+                    return true;
+                }
+                boolean kept = true;
+                if (count == buffer.length) {
+                    switch (policy) {
+                        case DROP:
+                            return false;
+                        case LATEST:
+                            buffer[head] = null;
+                            head = (head + 1) % buffer.length;
+                            count--;
+                            kept = false;
+                            break;
+                        case BLOCK:
+                            try {
+                                while (count == buffer.length && !cancelled) {
+                                    wait();
+                                }
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return false;
+                            }
+                            if (cancelled) {
+                                return true;
+                            }
+                            break;
+                    }
+                }
+                buffer[(head + count) % buffer.length] = item;
+                count++;
+                if (!kept) {
+                    return false;
+                }
+            }
+            if (demand.get() > 0) {
+                signal();
+            }
+            return true;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                requestError = new IllegalArgumentException("request must be positive: " + n);
+            } else {
+                demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            synchronized (this) {
+                notifyAll();
+            }
+            signal();
+        }
+
+        void finish() {
+            done = true;
+            signal();
+        }
+
+        void signal() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Runs at most once at a time, so every signal to the subscriber comes from one thread at a time.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            int missed = 1;
+            try {
+                if (!subscribed) {
+                    subscribed = true;
+                    subscriber.onSubscribe(this);
+                }
+                while (true) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    if (requestError != null) {
+                        cancel();
+                        subscriber.onError(requestError);
+                        return;
+                    }
+                    long requested = demand.get();
+                    int n = take((int) Math.min(requested, batch.length));
+                    for (int i = 0; i < n && !cancelled; i++) {
+                        T item = (T) batch[i];
+                        batch[i] = null;
+                        subscriber.onNext(item);
+                    }
+                    if (n > 0 && requested != Long.MAX_VALUE) {
+                        demand.addAndGet(-n);
+                    }
+                    if (done && isEmpty() && !cancelled) {
+                        cancelled = true;
+                        subscriptions.remove(this);
+                        Throwable error = closedException;
+                        if (error != null) {
+                            subscriber.onError(error);
+                        } else {
+                            subscriber.onComplete();
+                        }
+                        return;
+                    }
+                    if (n == batch.length && demand.get() > 0 && !isEmpty()) {
+                        executor.execute(this); // give other subscriptions a turn, wip stays taken
+                        return;
+                    }
+                    missed = wip.addAndGet(-missed);
+                    if (missed == 0) {
+                        return;
+                    }
+                }
+            } catch (Throwable e) {
+                // a subscriber must not throw, treat it as cancelled
+                cancel();
+                e.printStackTrace();
+            }
+        }
+
+        private synchronized int take(int max) {
+            int n = Math.min(max, count);
+            for (int i = 0; i < n; i++) {
+                batch[i] = buffer[head];
+                buffer[head] = null;
+                head = (head + 1) % buffer.length;
+            }
+            count -= n;
+            if (n > 0 && policy == OverflowPolicy.BLOCK) {
+                notifyAll();
+            }
+            return n;
+        }
+
+        private synchronized boolean isEmpty() {
+            return count == 0;
+        }
+
+        private synchronized void clear() {
+            Arrays.fill(buffer, null);
+            count = 0;
+        }
+    }
+}
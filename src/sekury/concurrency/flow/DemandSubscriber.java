@@ -0,0 +1,77 @@
+package sekury.concurrency.flow;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Subscriber that keeps at most {@code prefetch} items requested: it requests them all up front and requests
+ * another half once half of them have arrived, so demand is signalled in batches rather than per item.
+ */
+public class DemandSubscriber<T> implements Flow.Subscriber<T> {
+
+    private final int prefetch;
+    private final int replenish;
+    private final Consumer<? super T> consumer;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+    private int received;
+
+    public DemandSubscriber(int prefetch, Consumer<? super T> consumer) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+        }
+        this.prefetch = prefetch;
+        this.replenish = Math.max(1, prefetch / 2);
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        try {
+            consumer.accept(item);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            completion.completeExceptionally(e);
+            return;
+        }
+        if (++received == replenish) {
+            received = 0;
+            subscription.request(replenish);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        completion.complete(null);
+    }
+
+    /**
+     * Completes when the publisher completes, or exceptionally when it fails or the consumer throws.
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    public void cancel() {
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        completion.cancel(false);
+    }
+}
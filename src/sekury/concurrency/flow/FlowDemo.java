@@ -0,0 +1,58 @@
+package sekury.concurrency.flow;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FlowDemo {
+
+    private static final int ITEMS = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (OverflowPolicy policy : OverflowPolicy.values()) {
+            run(executor, policy);
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private static void run(ExecutorService executor, OverflowPolicy policy) throws Exception {
+        BoundedPublisher<Integer> publisher = new BoundedPublisher<>(executor, 256, 64, policy);
+        MappingProcessor<Integer, String> processor =
+                new MappingProcessor<>(executor, 256, 64, policy, i -> "item-" + i);
+        publisher.subscribe(processor);
+
+        AtomicLong fast = new AtomicLong();
+        AtomicLong slow = new AtomicLong();
+        String[] last = new String[1];
+        DemandSubscriber<String> fastSubscriber = new DemandSubscriber<>(64, item -> fast.incrementAndGet());
+        DemandSubscriber<String> slowSubscriber = new DemandSubscriber<>(16, item -> {
+            if (slow.incrementAndGet() % 20 == 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            last[0] = item;
+        });
+        // the processor requests from the publisher only once it has subscribers itself
+        processor.subscribe(fastSubscriber);
+        processor.subscribe(slowSubscriber);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITEMS; i++) {
+            publisher.submit(i); // never blocks on the slow subscriber unless the policy says so
+        }
+        publisher.close();
+        CompletableFuture.allOf(fastSubscriber.getCompletion(), slowSubscriber.getCompletion())
+                .get(1, TimeUnit.MINUTES);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.printf("%-6s fast got %d, slow got %d (last %s), dropped %d + %d, %d ms%n", policy,
+                fast.get(), slow.get(), last[0], publisher.getDroppedCount(), processor.getDroppedCount(), elapsed);
+    }
+}
@@ -0,0 +1,88 @@
+package sekury.concurrency.flow;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * Processor that maps every item and republishes it to its own subscribers. It requests from upstream like a
+ * {@link DemandSubscriber}, but only once it has a subscriber of its own, so nothing is mapped just to be thrown
+ * away. With {@link OverflowPolicy#BLOCK} a slow downstream subscriber holds up the upstream delivery, so
+ * backpressure reaches the original publisher.
+ */
+public class MappingProcessor<T, R> extends BoundedPublisher<R> implements Flow.Processor<T, R> {
+
+    private final Function<? super T, ? extends R> mapper;
+    private final int prefetch;
+    private final int replenish;
+    private Flow.Subscription upstream;
+    private boolean hasSubscriber;
+    private boolean requested;
+    private int received;
+
+    public MappingProcessor(Executor executor, int bufferSize, int maxBatch, OverflowPolicy policy,
+                            Function<? super T, ? extends R> mapper) {
+        super(executor, bufferSize, maxBatch, policy);
+        this.mapper = mapper;
+        this.prefetch = bufferSize;
+        this.replenish = Math.max(1, bufferSize / 2);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        super.subscribe(subscriber);
+        synchronized (this) {
+            hasSubscriber = true;
+            requestFirst();
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (this) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            requestFirst();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        R mapped;
+        try {
+            mapped = mapper.apply(item);
+        } catch (RuntimeException e) {
+            upstream.cancel();
+            closeExceptionally(e);
+            return;
+        }
+        if (mapped != null) {
+            submit(mapped);
+        }
+        if (++received == replenish) {
+            received = 0;
+            upstream.request(replenish);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        close();
+    }
+
+    // guarded by this
+    private void requestFirst() {
+        if (upstream != null && hasSubscriber && !requested) {
+            requested = true;
+            upstream.request(prefetch);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package sekury.concurrency.flow;
+
+/**
+ * What a {@link BoundedPublisher} does with a new item when a subscriber's buffer is full.
+ */
+public enum OverflowPolicy {
+    /** Discard the new item. */
+    DROP,
+    /** Discard the oldest buffered item, so the subscriber always gets the latest ones. */
+    LATEST,
+    /** Wait until the subscriber frees space, slowing the publisher down to the slowest subscriber. */
+    BLOCK
+}
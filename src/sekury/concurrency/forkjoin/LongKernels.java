@@ -0,0 +1,279 @@
+package sekury.concurrency.forkjoin;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Fork/join tasks over {@code long[]}, the same as {@link IntKernels}.
+ */
+final class LongKernels {
+
+    private LongKernels() {
+    }
+
+    static final class Reduce extends RecursiveTask<Long> {
+        private final long[] a;
+        private final int lo;
+        private final int hi;
+        private final int threshold;
+        private final long identity;
+        private final LongBinaryOperator op;
+
+        Reduce(long[] a, int lo, int hi, int threshold, long identity, LongBinaryOperator op) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+            this.identity = identity;
+            this.op = op;
+        }
+
+        @Override
+        protected Long compute() {
+            if (!Splitter.shouldSplit(hi - lo, threshold)) {
+                long result = identity;
+                for (int i = lo; i < hi; i++) {
+                    result = op.applyAsLong(result, a[i]);
+                }
+                return result;
+            }
+            int mid = (lo + hi) >>> 1;
+            Reduce left = new Reduce(a, lo, mid, threshold, identity, op);
+            left.fork();
+            long right = new Reduce(a, mid, hi, threshold, identity, op).compute();
+            return op.applyAsLong(left.join(), right);
+        }
+    }
+
+    static final class Sum extends RecursiveTask<Long> {
+        private final long[] a;
+        private final int lo;
+        private final int hi;
+        private final int threshold;
+
+        Sum(long[] a, int lo, int hi, int threshold) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            if (!Splitter.shouldSplit(hi - lo, threshold)) {
+                long sum = 0;
+                for (int i = lo; i < hi; i++) {
+                    sum += a[i];
+                }
+                return sum;
+            }
+            int mid = (lo + hi) >>> 1;
+            Sum left = new Sum(a, lo, mid, threshold);
+            left.fork();
+            long right = new Sum(a, mid, hi, threshold).compute();
+            return left.join() + right;
+        }
+    }
+
+    static final class Map extends RecursiveAction {
+        private final long[] src;
+        private final long[] dst;
+        private final int lo;
+        private final int hi;
+        private final int threshold;
+        private final LongUnaryOperator f;
+
+        Map(long[] src, long[] dst, int lo, int hi, int threshold, LongUnaryOperator f) {
+            this.src = src;
+            this.dst = dst;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+            this.f = f;
+        }
+
+        @Override
+        protected void compute() {
+            if (!Splitter.shouldSplit(hi - lo, threshold)) {
+                for (int i = lo; i < hi; i++) {
+                    dst[i] = f.applyAsLong(src[i]);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Map(src, dst, lo, mid, threshold, f), new Map(src, dst, mid, hi, threshold, f));
+        }
+    }
+
+    /**
+     * Inclusive scan in three passes over equal blocks: reduce every block in parallel, scan the block totals
+     * sequentially, then scan every block in parallel starting from the total of the blocks before it.
+     */
+    static final class Scan extends RecursiveAction {
+        private final long[] a;
+        private final LongBinaryOperator op;
+
+        Scan(long[] a, LongBinaryOperator op) {
+            this.a = a;
+            this.op = op;
+        }
+
+        @Override
+        protected void compute() {
+            int n = a.length;
+            int blocks = Splitter.blocks(n);
+            long[] totals = new long[blocks];
+            new Splitter.Blocks(0, blocks, b -> {
+                int lo = Splitter.blockStart(b, blocks, n);
+                int hi = Splitter.blockStart(b + 1, blocks, n);
+                long total = a[lo];
+                for (int i = lo + 1; i < hi; i++) {
+                    total = op.applyAsLong(total, a[i]);
+                }
+                totals[b] = total;
+            }).invoke();
+            for (int b = 1; b < blocks; b++) {
+                totals[b] = op.applyAsLong(totals[b - 1], totals[b]);
+            }
+            new Splitter.Blocks(0, blocks, b -> {
+                int lo = Splitter.blockStart(b, blocks, n);
+                int hi = Splitter.blockStart(b + 1, blocks, n);
+                if (b > 0) {
+                    a[lo] = op.applyAsLong(totals[b - 1], a[lo]);
+                }
+                for (int i = lo + 1; i < hi; i++) {
+                    a[i] = op.applyAsLong(a[i - 1], a[i]);
+                }
+            }).invoke();
+        }
+    }
+
+    /**
+     * Merge sort that leaves the sorted range in {@code w} if {@code inW} is set, in {@code a} otherwise. The
+     * halves are sorted into the other array, so every level merges once and nothing is copied back.
+     */
+    static final class Sorter extends RecursiveAction {
+        private final long[] a;
+        private final long[] w;
+        private final int lo;
+        private final int hi;
+        private final int threshold;
+        private final boolean inW;
+
+        Sorter(long[] a, long[] w, int lo, int hi, int threshold, boolean inW) {
+            this.a = a;
+            this.w = w;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+            this.inW = inW;
+        }
+
+        @Override
+        protected void compute() {
+            if (!Splitter.shouldSplit(hi - lo, threshold)) {
+                Arrays.sort(a, lo, hi);
+                if (inW) {
+                    System.arraycopy(a, lo, w, lo, hi - lo);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Sorter(a, w, lo, mid, threshold, !inW), new Sorter(a, w, mid, hi, threshold, !inW));
+            long[] src = inW ? a : w;
+            long[] dst = inW ? w : a;
+            new Merger(src, dst, lo, mid, mid, hi, lo, threshold).invoke();
+        }
+    }
+
+    /**
+     * Merges {@code src[lo1, hi1)} and {@code src[lo2, hi2)} into {@code dst} from {@code out}, splitting the
+     * larger run at its middle and the smaller one at the same value.
+     */
+    static final class Merger extends RecursiveAction {
+        private final long[] src;
+        private final long[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+        private final int threshold;
+
+        Merger(long[] src, long[] dst, int lo1, int hi1, int lo2, int hi2, int out, int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (!Splitter.shouldSplit(n1 + n2, threshold)) {
+                merge();
+                return;
+            }
+            if (n1 >= n2) {
+                int m1 = (lo1 + hi1) >>> 1;
+                int m2 = lowerBound(lo2, hi2, src[m1]);
+                invokeAll(new Merger(src, dst, lo1, m1, lo2, m2, out, threshold),
+                        new Merger(src, dst, m1, hi1, m2, hi2, out + (m1 - lo1) + (m2 - lo2), threshold));
+            } else {
+                int m2 = (lo2 + hi2) >>> 1;
+                int m1 = upperBound(lo1, hi1, src[m2]);
+                invokeAll(new Merger(src, dst, lo1, m1, lo2, m2, out, threshold),
+                        new Merger(src, dst, m1, hi1, m2, hi2, out + (m1 - lo1) + (m2 - lo2), threshold));
+            }
+        }
+
+        private void merge() {
+            int i = lo1;
+            int j = lo2;
+            int k = out;
+            while (i < hi1 && j < hi2) {
+                dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+            }
+            System.arraycopy(src, i, dst, k, hi1 - i);
+            System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+        }
+
+        /**
+         * First index in {@code [lo, hi)} whose value is not less than {@code key}.
+         */
+        private int lowerBound(int lo, int hi, long key) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (src[mid] < key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * First index in {@code [lo, hi)} whose value is greater than {@code key}.
+         */
+        private int upperBound(int lo, int hi, long key) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (key < src[mid]) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+    }
+}
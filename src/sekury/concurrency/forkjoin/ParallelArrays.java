@@ -0,0 +1,134 @@
+package sekury.concurrency.forkjoin;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.*;
+
+/**
+ * Data-parallel reduce, map, prefix scan and sort over primitive arrays, run as {@code RecursiveTask}s and
+ * {@code RecursiveAction}s on a {@link ForkJoinPool}.
+ * <p>
+ * Ranges are split by halves down to a threshold that gives every worker several leaves, and further only while
+ * other workers are idle and stealing, so cheap operations on big arrays do not drown in tiny tasks. Reductions and
+ * scans apply {@code op} in array order but group the elements arbitrarily, so {@code op} must be associative.
+ */
+public class ParallelArrays {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Runs on the common pool.
+     */
+    public ParallelArrays() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelArrays(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public int reduce(int[] a, int identity, IntBinaryOperator op) {
+        return pool.invoke(new IntKernels.Reduce(a, 0, a.length, threshold(a.length), identity, op));
+    }
+
+    /**
+     * Sums into a {@code long}, so the sum does not overflow.
+     */
+    public long sum(int[] a) {
+        return pool.invoke(new IntKernels.Sum(a, 0, a.length, threshold(a.length)));
+    }
+
+    /**
+     * Returns a new array with {@code f} applied to every element.
+     */
+    public int[] map(int[] a, IntUnaryOperator f) {
+        int[] result = new int[a.length];
+        pool.invoke(new IntKernels.Map(a, result, 0, a.length, threshold(a.length), f));
+        return result;
+    }
+
+    /**
+     * Replaces every element with {@code op} applied to it and all elements before it, like
+     * {@code Arrays.parallelPrefix}.
+     */
+    public void scan(int[] a, IntBinaryOperator op) {
+        if (a.length > 0) {
+            pool.invoke(new IntKernels.Scan(a, op));
+        }
+    }
+
+    /**
+     * Sorts ascending by parallel merge sort, using a temporary array of the same length.
+     */
+    public void sort(int[] a) {
+        pool.invoke(new IntKernels.Sorter(a, new int[a.length], 0, a.length, threshold(a.length), false));
+    }
+
+    public long reduce(long[] a, long identity, LongBinaryOperator op) {
+        return pool.invoke(new LongKernels.Reduce(a, 0, a.length, threshold(a.length), identity, op));
+    }
+
+    public long sum(long[] a) {
+        return pool.invoke(new LongKernels.Sum(a, 0, a.length, threshold(a.length)));
+    }
+
+    /**
+     * Returns a new array with {@code f} applied to every element.
+     */
+    public long[] map(long[] a, LongUnaryOperator f) {
+        long[] result = new long[a.length];
+        pool.invoke(new LongKernels.Map(a, result, 0, a.length, threshold(a.length), f));
+        return result;
+    }
+
+    /**
+     * Replaces every element with {@code op} applied to it and all elements before it, like
+     * {@code Arrays.parallelPrefix}.
+     */
+    public void scan(long[] a, LongBinaryOperator op) {
+        if (a.length > 0) {
+            pool.invoke(new LongKernels.Scan(a, op));
+        }
+    }
+
+    public void sort(long[] a) {
+        pool.invoke(new LongKernels.Sorter(a, new long[a.length], 0, a.length, threshold(a.length), false));
+    }
+
+    public double reduce(double[] a, double identity, DoubleBinaryOperator op) {
+        return pool.invoke(new DoubleKernels.Reduce(a, 0, a.length, threshold(a.length), identity, op));
+    }
+
+    public double sum(double[] a) {
+        return pool.invoke(new DoubleKernels.Sum(a, 0, a.length, threshold(a.length)));
+    }
+
+    /**
+     * Returns a new array with {@code f} applied to every element.
+     */
+    public double[] map(double[] a, DoubleUnaryOperator f) {
+        double[] result = new double[a.length];
+        pool.invoke(new DoubleKernels.Map(a, result, 0, a.length, threshold(a.length), f));
+        return result;
+    }
+
+    /**
+     * Replaces every element with {@code op} applied to it and all elements before it, like
+     * {@code Arrays.parallelPrefix}.
+     */
+    public void scan(double[] a, DoubleBinaryOperator op) {
+        if (a.length > 0) {
+            pool.invoke(new DoubleKernels.Scan(a, op));
+        }
+    }
+
+    /**
+     * Sorts in the order of {@link Double#compare}, like {@code Arrays.sort}.
+     */
+    public void sort(double[] a) {
+        pool.invoke(new DoubleKernels.Sorter(a, new double[a.length], 0, a.length, threshold(a.length), false));
+    }
+
+    private int threshold(int length) {
+        return Splitter.threshold(length, pool);
+    }
+}
@@ -0,0 +1,53 @@
+package sekury.concurrency.forkjoin;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+public class ParallelArraysDemo {
+
+    private static final int SIZE = 10_000_000;
+
+    public static void main(String[] args) {
+        ParallelArrays parallel = new ParallelArrays();
+        int[] data = ThreadLocalRandom.current().ints(SIZE, 0, 1000).toArray();
+
+        time("sum, ParallelArrays", () -> parallel.sum(data));
+        time("sum, IntStream.parallel()", () -> IntStream.of(data).parallel().asLongStream().sum());
+        time("max, ParallelArrays", () -> parallel.reduce(data, Integer.MIN_VALUE, Math::max));
+
+        time("map, ParallelArrays", () -> parallel.map(data, x -> x * x).length);
+        time("map, IntStream.parallel()", () -> IntStream.of(data).parallel().map(x -> x * x).toArray().length);
+
+        int[] scanned = data.clone();
+        int[] prefixed = data.clone();
+        time("scan, ParallelArrays", () -> {
+            parallel.scan(scanned, Integer::sum);
+            return scanned[SIZE - 1];
+        });
+        time("scan, Arrays.parallelPrefix", () -> {
+            Arrays.parallelPrefix(prefixed, Integer::sum);
+            return prefixed[SIZE - 1];
+        });
+        System.out.println("Scans are equal: " + Arrays.equals(scanned, prefixed));
+
+        int[] sorted = data.clone();
+        int[] parallelSorted = data.clone();
+        time("sort, ParallelArrays", () -> {
+            parallel.sort(sorted);
+            return sorted[0];
+        });
+        time("sort, Arrays.parallelSort", () -> {
+            Arrays.parallelSort(parallelSorted);
+            return parallelSorted[0];
+        });
+        System.out.println("Sorts are equal: " + Arrays.equals(sorted, parallelSorted));
+    }
+
+    private static void time(String name, LongSupplier task) {
+        long start = System.nanoTime();
+        long result = task.getAsLong();
+        System.out.printf("%-30s %6d ms, result %d%n", name, (System.nanoTime() - start) / 1_000_000, result);
+    }
+}
@@ -0,0 +1,67 @@
+package sekury.concurrency.forkjoin;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Split policy shared by the kernels. A range is always split down to {@link #threshold(int, ForkJoinPool)},
+ * which gives every worker several leaves to balance uneven progress. Below that it is split further, down to
+ * {@link #MIN_GRAIN}, only while the current worker has few queued tasks left, i.e. while other workers are
+ * stealing and need more work.
+ */
+final class Splitter {
+
+    static final int MIN_GRAIN = 1 << 13;
+    private static final int LEAVES_PER_WORKER = 8;
+    private static final int SURPLUS = 3;
+
+    private Splitter() {
+    }
+
+    static int threshold(int length, ForkJoinPool pool) {
+        return Math.max(MIN_GRAIN, length / (pool.getParallelism() * LEAVES_PER_WORKER));
+    }
+
+    static boolean shouldSplit(int size, int threshold) {
+        return size > threshold || (size > MIN_GRAIN && ForkJoinTask.getSurplusQueuedTaskCount() <= SURPLUS);
+    }
+
+    /**
+     * Number of equal blocks for the blocked algorithms, such as the scan.
+     */
+    static int blocks(int length) {
+        int parallelism = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool().getParallelism() : 1;
+        return Math.max(1, Math.min(length / MIN_GRAIN, parallelism * LEAVES_PER_WORKER));
+    }
+
+    static int blockStart(int block, int blocks, int length) {
+        return (int) ((long) block * length / blocks);
+    }
+
+    /**
+     * Runs {@code body} for blocks {@code [lo, hi)} in parallel.
+     */
+    static final class Blocks extends RecursiveAction {
+        private final int lo;
+        private final int hi;
+        private final IntConsumer body;
+
+        Blocks(int lo, int hi, IntConsumer body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                body.accept(lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Blocks(lo, mid, body), new Blocks(mid, hi, body));
+        }
+    }
+}
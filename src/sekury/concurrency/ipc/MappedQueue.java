@@ -0,0 +1,222 @@
+package sekury.concurrency.ipc;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Single-producer, single-consumer queue of byte records in a memory-mapped file, for handing data between two
+ * processes on the same host without system calls or copies through the kernel. The producer process and the
+ * consumer process each map the file with their own {@code MappedQueue}.
+ * <p>
+ * The file starts with a header holding the consumer index and the producer index on separate cache lines,
+ * followed by a ring of {@code capacity} bytes. Each record is a 4-byte length followed by the payload, aligned to
+ * 8 bytes; a record that does not fit before the end of the ring is preceded by a padding marker and starts at the
+ * beginning instead, so every record can be read in place. When all records have the same size and that aligned
+ * size divides the capacity, no padding is ever needed.
+ * <p>
+ * The producer writes a record, then publishes the new producer index with a release store; the consumer reads the
+ * index with an acquire load, so the record is visible before the index. The consumer frees space the same way.
+ */
+public class MappedQueue implements AutoCloseable {
+
+    private static final int MAGIC = 0x4d515545;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int HEAD_OFFSET = 128;
+    private static final int TAIL_OFFSET = 256;
+    private static final int DATA_OFFSET = 384;
+
+    private static final int LENGTH_SIZE = 4;
+    private static final int ALIGNMENT = 8;
+    private static final int PADDING = -1;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final ByteBuffer view;
+    private final int capacity;
+    private final int mask;
+
+    // producer side
+    private long tail;
+    private long cachedHead;
+
+    // consumer side
+    private long head;
+    private long cachedTail;
+
+    private MappedQueue(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.view = buffer.duplicate(); // big-endian, like any new ByteBuffer
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.head = (long) LONG.getAcquire(buffer, HEAD_OFFSET);
+        this.tail = (long) LONG.getAcquire(buffer, TAIL_OFFSET);
+        this.cachedHead = head;
+        this.cachedTail = tail;
+    }
+
+    /**
+     * Creates the file, or truncates an existing one, and maps an empty queue.
+     *
+     * @param capacity ring size in bytes, a power of two
+     */
+    public static MappedQueue create(Path file, int capacity) throws IOException {
+        if (capacity < 64 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two of at least 64: " + capacity);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, DATA_OFFSET + capacity);
+            buffer.order(ByteOrder.nativeOrder());
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            LONG.setRelease(buffer, HEAD_OFFSET, 0L);
+            LONG.setRelease(buffer, TAIL_OFFSET, 0L);
+            INT.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+            return new MappedQueue(channel, buffer, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps a queue created by {@link #create}, possibly in another process.
+     */
+    public static MappedQueue open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < DATA_OFFSET) {
+                throw new IOException("Not a queue file: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            buffer.order(ByteOrder.nativeOrder());
+            if ((int) INT.getAcquire(buffer, MAGIC_OFFSET) != MAGIC) {
+                throw new IOException("Queue not initialized: " + file);
+            }
+            int capacity = buffer.getInt(CAPACITY_OFFSET);
+            if (channel.size() < DATA_OFFSET + capacity) {
+                throw new IOException("Queue file truncated: " + file);
+            }
+            return new MappedQueue(channel, buffer, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the remaining bytes of {@code src} as one record, if there is room. Consumes {@code src} on success.
+     * Only one thread of one process may offer.
+     */
+    public boolean offer(ByteBuffer src) {
+        int length = src.remaining();
+        int size = align(LENGTH_SIZE + length);
+        if (size > capacity) {
+            throw new IllegalArgumentException("Record of " + length + " bytes exceeds capacity " + capacity);
+        }
+        int offset = (int) (tail & mask);
+        int toEnd = capacity - offset;
+        int required = size > toEnd ? toEnd + size : size;
+        if (tail + required - cachedHead > capacity) {
+            cachedHead = (long) LONG.getAcquire(buffer, HEAD_OFFSET);
+            if (tail + required - cachedHead > capacity) {
+                return false;
+            }
+        }
+        if (size > toEnd) {
+            buffer.putInt(DATA_OFFSET + offset, PADDING);
+            tail += toEnd;
+            offset = 0;
+        }
+        buffer.putInt(DATA_OFFSET + offset, length);
+        buffer.put(DATA_OFFSET + offset + LENGTH_SIZE, src, src.position(), length);
+        src.position(src.limit());
+        tail += size;
+        LONG.setRelease(buffer, TAIL_OFFSET, tail);
+        return true;
+    }
+
+    public boolean offer(byte[] src) {
+        return offer(ByteBuffer.wrap(src));
+    }
+
+    /**
+     * Passes up to {@code limit} records to {@code handler} and then frees their space. The handler gets a view of
+     * the record in the mapped file, positioned at the payload; it must not keep the view, which is reused for the
+     * next record. Only one thread of one process may drain.
+     *
+     * @return the number of records passed
+     */
+    public int drain(Consumer<? super ByteBuffer> handler, int limit) {
+        long h = head;
+        int count = 0;
+        while (count < limit) {
+            if (h == cachedTail) {
+                cachedTail = (long) LONG.getAcquire(buffer, TAIL_OFFSET);
+                if (h == cachedTail) {
+                    break;
+                }
+            }
+            int offset = (int) (h & mask);
+            int length = buffer.getInt(DATA_OFFSET + offset);
+            if (length == PADDING) {
+                h += capacity - offset;
+                continue;
+            }
+            int start = DATA_OFFSET + offset + LENGTH_SIZE;
+            view.limit(start + length).position(start);
+            handler.accept(view);
+            h += align(LENGTH_SIZE + length);
+            count++;
+        }
+        if (h != head) {
+            head = h;
+            LONG.setRelease(buffer, HEAD_OFFSET, h);
+        }
+        return count;
+    }
+
+    public boolean poll(Consumer<? super ByteBuffer> handler) {
+        return drain(handler, 1) == 1;
+    }
+
+    /**
+     * Bytes used by records and padding, as seen by the calling side.
+     */
+    public long size() {
+        return (long) LONG.getAcquire(buffer, TAIL_OFFSET) - (long) LONG.getAcquire(buffer, HEAD_OFFSET);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Closes the file. The mapping itself stays valid until the buffer is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int align(int size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -0,0 +1,75 @@
+package sekury.concurrency.ipc;
+
+import sekury.concurrency.monitoring.LatencyHistogram;
+import sekury.concurrency.queues.WaitStrategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Sends timestamped messages to a consumer running in a child JVM. Both processes read the same monotonic clock,
+ * so the consumer can report the latency of every message.
+ */
+public class MappedQueueDemo {
+
+    private static final int MESSAGES = 1_000_000;
+    private static final int MESSAGE_SIZE = 64;
+    private static final int CAPACITY = 1 << 20;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 2 && args[0].equals("consume")) {
+            consume(Paths.get(args[1]));
+            return;
+        }
+        Path file = Files.createTempFile("mapped-queue", ".dat");
+        try (MappedQueue queue = MappedQueue.create(file, CAPACITY)) {
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            Process consumer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    MappedQueueDemo.class.getName(), "consume", file.toString()).inheritIO().start();
+
+            ByteBuffer message = ByteBuffer.allocateDirect(MESSAGE_SIZE);
+            WaitStrategy wait = WaitStrategy.yielding();
+            for (long sequence = 0; sequence < MESSAGES; sequence++) {
+                message.clear();
+                message.putLong(sequence).putLong(System.nanoTime()).position(MESSAGE_SIZE).flip();
+                int idle = 0;
+                while (!queue.offer(message)) {
+                    if (!consumer.isAlive()) {
+                        throw new IllegalStateException("Consumer exited with code " + consumer.exitValue());
+                    }
+                    idle = wait.idle(idle);
+                }
+            }
+            System.out.println("Producer done, exit code " + consumer.waitFor());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void consume(Path file) throws IOException {
+        LatencyHistogram latencies = new LatencyHistogram();
+        long[] expected = {0};
+        WaitStrategy wait = WaitStrategy.yielding();
+        try (MappedQueue queue = MappedQueue.open(file)) {
+            long start = System.nanoTime();
+            int idle = 0;
+            while (expected[0] < MESSAGES) {
+                int drained = queue.drain(record -> {
+                    long sequence = record.getLong(record.position());
+                    long sent = record.getLong(record.position() + 8);
+                    latencies.record(System.nanoTime() - sent);
+                    if (sequence != expected[0]++) {
+                        throw new IllegalStateException("Expected " + (expected[0] - 1) + " but got " + sequence);
+                    }
+                }, 256);
+                idle = drained == 0 ? wait.idle(idle) : 0;
+            }
+            long nanos = System.nanoTime() - start;
+            System.out.printf("Consumer received %d messages, %.0f messages/s%n", MESSAGES, MESSAGES * 1e9 / nanos);
+            System.out.println("Latency ns: " + latencies.snapshot());
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package sekury.concurrency.locks;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reentrant lock with an MCS-style queue of waiters. Only the thread at the head of the queue competes for the
+ * lock: it spins for about twice the average hold time of the lock and parks only if the lock is held longer.
+ * The other waiters park on their own queue node. When the head acquires the lock it wakes its successor, so the
+ * next thread is already running and spinning by the time the lock is released.
+ * <p>
+ * An unfair lock lets arriving threads barge in while the lock is free. A fair lock only does that when nobody
+ * waits, and on release hands the lock directly to the head of the queue. Waiters that time out or are
+ * interrupted mark their node as cancelled and are skipped.
+ */
+public class AdaptiveSpinLock implements Lock {
+
+    private static final int WAITING = 0;
+    private static final int HEAD = 1;
+    private static final int GRANTED = 2;
+    private static final int CANCELLED = 3;
+
+    private static final boolean MULTIPROCESSOR = Runtime.getRuntime().availableProcessors() > 1;
+    private static final long MIN_SPIN_NANOS = 1_000;
+    private static final long MAX_SPIN_NANOS = 50_000;
+    /**
+     * Hold time is measured on one acquisition out of {@code SAMPLE_MASK + 1}, to keep clock reads off the fast path.
+     */
+    private static final int SAMPLE_MASK = 7;
+
+    private static final VarHandle STATE;
+    private static final VarHandle TAIL;
+    private static final VarHandle STATUS;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            STATE = lookup.findVarHandle(AdaptiveSpinLock.class, "state", int.class);
+            TAIL = lookup.findVarHandle(AdaptiveSpinLock.class, "tail", Node.class);
+            STATUS = lookup.findVarHandle(Node.class, "status", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class Node {
+        final Thread thread = Thread.currentThread();
+        volatile int status;
+        volatile Node next;
+        volatile boolean parked;
+    }
+
+    private final boolean fair;
+
+    private volatile int state;
+    private volatile Node tail;
+    /**
+     * Node currently competing for the lock, or null while the head changes.
+     */
+    private volatile Node head;
+
+    // written only by the owner
+    private Thread owner;
+    private int holds;
+    private int acquisitions;
+    private long holdStart;
+    private volatile long averageHoldNanos;
+
+    public AdaptiveSpinLock() {
+        this(false);
+    }
+
+    public AdaptiveSpinLock(boolean fair) {
+        this.fair = fair;
+    }
+
+    @Override
+    public void lock() {
+        Thread current = Thread.currentThread();
+        if (owner == current) {
+            holds++;
+            return;
+        }
+        if (!tryAcquire()) {
+            try {
+                acquireQueued(false, false, 0);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+        acquired(current, 1);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        Thread current = Thread.currentThread();
+        if (owner == current) {
+            holds++;
+            return;
+        }
+        if (!tryAcquire()) {
+            acquireQueued(true, false, 0);
+        }
+        acquired(current, 1);
+    }
+
+    @Override
+    public boolean tryLock() {
+        Thread current = Thread.currentThread();
+        if (owner == current) {
+            holds++;
+            return true;
+        }
+        // tryLock barges even into a fair lock, like ReentrantLock.tryLock()
+        if (state == 0 && STATE.compareAndSet(this, 0, 1)) {
+            acquired(current, 1);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        Thread current = Thread.currentThread();
+        if (owner == current) {
+            holds++;
+            return true;
+        }
+        if (!tryAcquire()) {
+            long nanos = unit.toNanos(time);
+            if (nanos <= 0 || !acquireQueued(true, true, System.nanoTime() + nanos)) {
+                return false;
+            }
+        }
+        acquired(current, 1);
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        if (owner != Thread.currentThread()) {
+            throw new IllegalMonitorStateException();
+        }
+        if (--holds > 0) {
+            return;
+        }
+        if (holdStart != 0) {
+            long average = averageHoldNanos;
+            averageHoldNanos = average + (System.nanoTime() - holdStart - average) / 8;
+        }
+        owner = null;
+        release();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return new ConditionObject();
+    }
+
+    public boolean isFair() {
+        return fair;
+    }
+
+    public boolean isLocked() {
+        return state != 0;
+    }
+
+    public boolean isHeldByCurrentThread() {
+        return owner == Thread.currentThread();
+    }
+
+    public int getHoldCount() {
+        return isHeldByCurrentThread() ? holds : 0;
+    }
+
+    public boolean hasQueuedThreads() {
+        return tail != null;
+    }
+
+    /**
+     * Moving average of the time the lock is held, in nanoseconds.
+     */
+    public long getAverageHoldNanos() {
+        return averageHoldNanos;
+    }
+
+    /**
+     * How long the head of the queue currently spins before parking, in nanoseconds.
+     */
+    public long getSpinNanos() {
+        if (!MULTIPROCESSOR) {
+            return 0;
+        }
+        long average = averageHoldNanos;
+        return average > MAX_SPIN_NANOS ? 0 : Math.min(MAX_SPIN_NANOS, MIN_SPIN_NANOS + 2 * average);
+    }
+
+    @Override
+    public String toString() {
+        Thread o = owner;
+        return super.toString() + (o == null ? "[Unlocked]" : "[Locked by thread " + o.getName() + "]");
+    }
+
+    private boolean tryAcquire() {
+        return state == 0 && (!fair || tail == null) && STATE.compareAndSet(this, 0, 1);
+    }
+
+    private void acquired(Thread current, int count) {
+        owner = current;
+        holds = count;
+        holdStart = (++acquisitions & SAMPLE_MASK) == 0 ? System.nanoTime() : 0;
+    }
+
+    private void release() {
+        if (fair) {
+            Node h = head;
+            if (h != null && STATUS.compareAndSet(h, HEAD, GRANTED)) {
+                LockSupport.unpark(h.thread);
+                return;
+            }
+        }
+        state = 0;
+        Node h = head;
+        if (h != null && h.parked) {
+            LockSupport.unpark(h.thread);
+        }
+    }
+
+    /**
+     * Enqueues the current thread and waits until it holds the lock.
+     *
+     * @return false if timed out
+     */
+    private boolean acquireQueued(boolean interruptible, boolean timed, long deadline) throws InterruptedException {
+        Node node = new Node();
+        boolean interrupted = false;
+        Node pred = (Node) TAIL.getAndSet(this, node);
+        if (pred == null) {
+            node.status = HEAD;
+            head = node;
+        } else {
+            pred.next = node;
+            while (node.status == WAITING) {
+                if (Thread.interrupted()) {
+                    if (interruptible) {
+                        if (STATUS.compareAndSet(node, WAITING, CANCELLED)) {
+                            throw new InterruptedException();
+                        }
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    interrupted = true;
+                }
+                long nanos = timed ? deadline - System.nanoTime() : 0;
+                if (timed && nanos <= 0) {
+                    if (STATUS.compareAndSet(node, WAITING, CANCELLED)) {
+                        return false;
+                    }
+                    break;
+                }
+                park(node, timed, nanos);
+            }
+        }
+
+        // at the head of the queue: spin while the lock is likely to be released soon, then park
+        long spinNanos = getSpinNanos();
+        long spinDeadline = System.nanoTime() + spinNanos;
+        boolean spinning = spinNanos > 0;
+        int spins = 0;
+        while (node.status != GRANTED && !(state == 0 && STATE.compareAndSet(this, 0, 1))) {
+            if (spinning) {
+                Thread.onSpinWait();
+                if ((++spins & 63) == 0 && System.nanoTime() - spinDeadline > 0) {
+                    spinning = false;
+                }
+                continue;
+            }
+            boolean interrupt = false;
+            if (Thread.interrupted()) {
+                if (interruptible) {
+                    interrupt = true;
+                } else {
+                    interrupted = true;
+                }
+            }
+            long nanos = timed ? deadline - System.nanoTime() : 0;
+            if (interrupt || (timed && nanos <= 0)) {
+                if (fair && !STATUS.compareAndSet(node, HEAD, CANCELLED)) {
+                    if (interrupt) {
+                        Thread.currentThread().interrupt();
+                    }
+                    break; // the lock was handed to us meanwhile
+                }
+                node.status = CANCELLED;
+                leave(node);
+                if (interrupt) {
+                    throw new InterruptedException();
+                }
+                return false;
+            }
+            park(node, timed, nanos);
+        }
+        leave(node);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    private void park(Node node, boolean timed, long nanos) {
+        node.parked = true;
+        int status = node.status;
+        if (status == WAITING || (status == HEAD && state != 0)) {
+            if (timed) {
+                LockSupport.parkNanos(this, nanos);
+            } else {
+                LockSupport.park(this);
+            }
+        }
+        node.parked = false;
+    }
+
+    /**
+     * Removes the head node from the queue and makes the next live node the head.
+     */
+    private void leave(Node node) {
+        Node n = node;
+        while (true) {
+            Node next = n.next;
+            if (next == null) {
+                head = null;
+                if (TAIL.compareAndSet(this, n, null)) {
+                    return;
+                }
+                // a thread is between joining the queue and linking itself
+                for (int spins = 0; (next = n.next) == null; spins++) {
+                    if ((spins & 63) == 63) {
+                        Thread.yield();
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+            }
+            head = next;
+            if (STATUS.compareAndSet(next, WAITING, HEAD)) {
+                LockSupport.unpark(next.thread);
+                return;
+            }
+            n = next; // cancelled, skip it
+        }
+    }
+
+    /**
+     * Waiters park on their own node until signalled. The queue is guarded by the lock itself; a waiter that
+     * times out or is interrupted cancels its node and removes it after reacquiring the lock.
+     */
+    private final class ConditionObject implements Condition {
+
+        private final ArrayDeque<Node> waiters = new ArrayDeque<>();
+
+        @Override
+        public void await() throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            await(true, false, 0);
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            try {
+                await(false, false, 0);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long deadline = System.nanoTime() + nanosTimeout;
+            await(true, true, deadline);
+            return deadline - System.nanoTime();
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            return awaitNanos(unit.toNanos(time)) > 0;
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            return await(deadline.getTime() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void signal() {
+            checkOwner();
+            Node waiter;
+            while ((waiter = waiters.poll()) != null) {
+                if (STATUS.compareAndSet(waiter, WAITING, GRANTED)) {
+                    LockSupport.unpark(waiter.thread);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            checkOwner();
+            Node waiter;
+            while ((waiter = waiters.poll()) != null) {
+                if (STATUS.compareAndSet(waiter, WAITING, GRANTED)) {
+                    LockSupport.unpark(waiter.thread);
+                }
+            }
+        }
+
+        private void await(boolean interruptible, boolean timed, long deadline) throws InterruptedException {
+            checkOwner();
+            Node node = new Node();
+            waiters.add(node);
+            int saved = holds;
+            holds = 0;
+            holdStart = 0;
+            owner = null;
+            release();
+
+            boolean interrupted = false;
+            while (node.status == WAITING) {
+                long nanos = timed ? deadline - System.nanoTime() : 0;
+                if (timed && nanos <= 0) {
+                    STATUS.compareAndSet(node, WAITING, CANCELLED);
+                    break;
+                }
+                if (timed) {
+                    LockSupport.parkNanos(this, nanos);
+                } else {
+                    LockSupport.park(this);
+                }
+                if (Thread.interrupted()) {
+                    interrupted = true;
+                    if (interruptible) {
+                        STATUS.compareAndSet(node, WAITING, CANCELLED);
+                        break;
+                    }
+                }
+            }
+
+            // reacquire without giving up on interrupts, then restore the hold count
+            Thread current = Thread.currentThread();
+            if (!tryAcquire()) {
+                acquireQueued(false, false, 0);
+            }
+            acquired(current, saved);
+            if (node.status == CANCELLED) {
+                waiters.remove(node);
+            }
+            if (interrupted) {
+                if (interruptible && node.status == CANCELLED) {
+                    throw new InterruptedException();
+                }
+                current.interrupt();
+            }
+        }
+
+        private void checkOwner() {
+            if (owner != Thread.currentThread()) {
+                throw new IllegalMonitorStateException();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package sekury.concurrency.locks;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+
+public class AdaptiveSpinLockDemo {
+
+    private static final int CAPACITY = 16;
+    private static final int ITEMS = 100_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        AdaptiveSpinLock lock = new AdaptiveSpinLock();
+        Condition notEmpty = lock.newCondition();
+        Condition notFull = lock.newCondition();
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int p = 0; p < 2; p++) {
+            executor.execute(() -> {
+                for (int i = 0; i < ITEMS; i++) {
+                    lock.lock();
+                    try {
+                        while (queue.size() == CAPACITY) {
+                            notFull.awaitUninterruptibly();
+                        }
+                        queue.add(i);
+                        notEmpty.signal();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            });
+        }
+        long[] sums = new long[2];
+        for (int c = 0; c < 2; c++) {
+            int consumer = c;
+            executor.execute(() -> {
+                for (int i = 0; i < ITEMS; i++) {
+                    lock.lock();
+                    try {
+                        while (queue.isEmpty()) {
+                            notEmpty.awaitUninterruptibly();
+                        }
+                        sums[consumer] += queue.poll();
+                        notFull.signal();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        System.out.printf("Consumed sum: %d, expected: %d%n", sums[0] + sums[1], (long) ITEMS * (ITEMS - 1));
+        System.out.printf("Average hold: %d ns, spin before parking: %d ns%n",
+                lock.getAverageHoldNanos(), lock.getSpinNanos());
+
+        lock.lock();
+        try {
+            Thread thread = new Thread(() -> {
+                try {
+                    System.out.println("tryLock with timeout: " + lock.tryLock(100, TimeUnit.MILLISECONDS));
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+            });
+            thread.start();
+            thread.join();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
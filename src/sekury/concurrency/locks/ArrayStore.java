@@ -0,0 +1,51 @@
+package sekury.concurrency.locks;
+
+import java.util.Arrays;
+
+/**
+ * Growable array shared by the locking {@link ReadMostlyList} implementations. Not thread-safe: callers guard
+ * writes, and readers that do not lock must validate what they read before using it.
+ */
+class ArrayStore {
+
+    Object[] elements = new Object[16];
+    int size;
+
+    void add(Object e) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size << 1);
+        }
+        elements[size++] = e;
+    }
+
+    Object set(int index, Object e) {
+        checkIndex(index, size);
+        Object old = elements[index];
+        elements[index] = e;
+        return old;
+    }
+
+    Object get(int index) {
+        checkIndex(index, size);
+        return elements[index];
+    }
+
+    Object[] copy() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Copies without any guarantee of consistency, the result is only meaningful once the caller has validated it.
+     */
+    Object[] racyCopy() {
+        Object[] a = elements;
+        int n = size;
+        return Arrays.copyOf(a, Math.max(0, Math.min(n, a.length)));
+    }
+
+    static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+}
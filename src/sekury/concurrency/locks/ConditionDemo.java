@@ -1,7 +1,8 @@
 package sekury.concurrency.locks;
 
+import sekury.concurrency.threads.ThreadMode;
+
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -52,9 +53,9 @@ public class ConditionDemo {
         }
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         SharedData<Integer> sharedData = new SharedData<>();
-        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ExecutorService executor = ThreadMode.current().newExecutor(2);
         executor.execute(() -> {
             int data = sharedData.getData();
             System.out.println(data);
@@ -72,5 +73,6 @@ public class ConditionDemo {
             sharedData.setData(data);
         }));
         executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);  // virtual threads are daemons
     }
 }
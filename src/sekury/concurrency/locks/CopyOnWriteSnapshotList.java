@@ -0,0 +1,61 @@
+package sekury.concurrency.locks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Every write copies the array and publishes the copy through a volatile reference, so a read is a single
+ * volatile load. Writes cost O(n), which only pays off when they are rare.
+ */
+public class CopyOnWriteSnapshotList<E> implements ReadMostlyList<E> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private volatile Object[] snapshot = EMPTY;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Object[] a = snapshot;
+        ArrayStore.checkIndex(index, a.length);
+        return (E) a[index];
+    }
+
+    @Override
+    public int size() {
+        return snapshot.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<E> snapshot() {
+        // the array is never modified after publication, so it can be shared as is
+        return Collections.unmodifiableList((List<E>) Arrays.asList(snapshot));
+    }
+
+    @Override
+    public synchronized void add(E e) {
+        Object[] a = snapshot;
+        Object[] copy = Arrays.copyOf(a, a.length + 1);
+        copy[a.length] = e;
+        snapshot = copy;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized E set(int index, E e) {
+        Object[] a = snapshot;
+        ArrayStore.checkIndex(index, a.length);
+        Object[] copy = a.clone();
+        Object old = copy[index];
+        copy[index] = e;
+        snapshot = copy;
+        return (E) old;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
@@ -1,13 +1,14 @@
 package sekury.concurrency.locks;
 
+import sekury.concurrency.threads.ThreadMode;
+
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class LockDemo {
-    public static void main(String[] args) {
-        ExecutorService executor = Executors.newFixedThreadPool(2);
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executor = ThreadMode.current().newExecutor(2);
         final ReentrantLock lock = new ReentrantLock();
 
         Runnable runnable = () -> {
@@ -31,5 +32,6 @@ public class LockDemo {
         executor.execute(runnable);
         executor.execute(runnable);
         executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);  // virtual threads are daemons
     }
 }
@@ -0,0 +1,40 @@
+package sekury.concurrency.locks;
+
+import java.util.concurrent.TimeUnit;
+
+public class ReadMostlyDemo {
+
+    public static void main(String[] args) throws InterruptedException {
+        for (ReadMostlyList.Strategy strategy : ReadMostlyList.Strategy.values()) {
+            run(strategy);
+        }
+    }
+
+    private static void run(ReadMostlyList.Strategy strategy) throws InterruptedException {
+        ReadMostlyList<Integer> sharedList = ReadMostlyList.create(strategy);
+
+        Thread writer = new Thread(() -> {
+            for (var i = 0; i < 10; i++) {
+                sharedList.add(i);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(10);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+
+        Thread reader = new Thread(() -> {
+            long reads = 0;
+            while (sharedList.size() < 10) {
+                reads++;
+            }
+            System.out.printf("%s: %s after %d reads%n", strategy, sharedList.snapshot(), reads);
+        });
+
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+    }
+}
@@ -0,0 +1,57 @@
+package sekury.concurrency.locks;
+
+import java.util.List;
+
+/**
+ * Thread-safe list for data that is read far more often than it is written.
+ * Implementations differ only in how readers are kept apart from writers, see {@link Strategy}.
+ */
+public interface ReadMostlyList<E> {
+
+    enum Strategy {
+        /**
+         * Readers share a {@code ReentrantReadWriteLock}, every read still writes the lock word.
+         */
+        READ_WRITE_LOCK,
+        /**
+         * Readers validate a {@code StampedLock} optimistic stamp and only lock when a write interfered.
+         */
+        STAMPED_LOCK,
+        /**
+         * Readers check a sequence counter before and after reading and retry if a write was in progress.
+         */
+        SEQLOCK,
+        /**
+         * Writers publish a fresh copy of the array, readers just read the current copy.
+         */
+        COPY_ON_WRITE
+    }
+
+    static <E> ReadMostlyList<E> create(Strategy strategy) {
+        switch (strategy) {
+            case READ_WRITE_LOCK:
+                return new ReadWriteLockList<>();
+            case STAMPED_LOCK:
+                return new StampedLockList<>();
+            case SEQLOCK:
+                return new SeqLockList<>();
+            case COPY_ON_WRITE:
+                return new CopyOnWriteSnapshotList<>();
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        }
+    }
+
+    E get(int index);
+
+    int size();
+
+    /**
+     * Returns a consistent, unmodifiable copy of the list.
+     */
+    List<E> snapshot();
+
+    void add(E e);
+
+    E set(int index, E e);
+}
@@ -1,5 +1,7 @@
 package sekury.concurrency.locks;
 
+import sekury.concurrency.threads.ThreadMode;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -7,13 +9,13 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class ReadWriteLockDemo {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock(true);
         final ReentrantReadWriteLock.ReadLock readLock = readWriteLock.readLock();
         final ReentrantReadWriteLock.WriteLock writeLock = readWriteLock.writeLock();
         List<Integer> sharedList = new ArrayList<>();
 
-        new Thread(() -> {
+        Thread writer = ThreadMode.current().newThread(() -> {
             for (var i = 0; i < 10; i++) {
                 writeLock.lock();
                 try {
@@ -27,9 +29,9 @@ public class ReadWriteLockDemo {
                     writeLock.unlock();
                 }
             }
-        }).start();
+        });
 
-        new Thread(() -> {
+        Thread reader = ThreadMode.current().newThread(() -> {
             while (true) {
                 readLock.lock();
                 try {
@@ -41,6 +43,11 @@ public class ReadWriteLockDemo {
                     readLock.unlock();
                 }
             }
-        }).start();
+        });
+
+        writer.start();
+        reader.start();
+        writer.join();  // virtual threads are daemons
+        reader.join();
     }
 }
@@ -0,0 +1,78 @@
+package sekury.concurrency.locks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ReadWriteLockList<E> implements ReadMostlyList<E> {
+
+    private final ReentrantReadWriteLock lock;
+    private final ArrayStore store = new ArrayStore();
+
+    public ReadWriteLockList() {
+        this(false);
+    }
+
+    public ReadWriteLockList(boolean fair) {
+        this.lock = new ReentrantReadWriteLock(fair);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        lock.readLock().lock();
+        try {
+            return (E) store.get(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<E> snapshot() {
+        lock.readLock().lock();
+        try {
+            return Collections.unmodifiableList((List<E>) Arrays.asList(store.copy()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(E e) {
+        lock.writeLock().lock();
+        try {
+            store.add(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E e) {
+        lock.writeLock().lock();
+        try {
+            return (E) store.set(index, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
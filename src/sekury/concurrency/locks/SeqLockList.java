@@ -0,0 +1,115 @@
+package sekury.concurrency.locks;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writers make the sequence odd while they modify the list and even again when done. Readers never lock: they
+ * read the sequence, read the data, and retry if the sequence was odd or has changed meanwhile.
+ * Readers can be starved by a steady stream of writes.
+ */
+public class SeqLockList<E> implements ReadMostlyList<E> {
+
+    private static final VarHandle SEQUENCE;
+
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(SeqLockList.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long sequence;
+    private final ArrayStore store = new ArrayStore();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        while (true) {
+            long s = beginRead();
+            Object[] a = store.elements;
+            int n = store.size;
+            Object e = index >= 0 && index < n && index < a.length ? a[index] : null;
+            if (validate(s)) {
+                ArrayStore.checkIndex(index, n);
+                return (E) e;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        while (true) {
+            long s = beginRead();
+            int n = store.size;
+            if (validate(s)) {
+                return n;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<E> snapshot() {
+        while (true) {
+            long s = beginRead();
+            Object[] copy = store.racyCopy();
+            if (validate(s)) {
+                return Collections.unmodifiableList((List<E>) Arrays.asList(copy));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void add(E e) {
+        long s = beginWrite();
+        try {
+            store.add(e);
+        } finally {
+            endWrite(s);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized E set(int index, E e) {
+        long s = beginWrite();
+        try {
+            return (E) store.set(index, e);
+        } finally {
+            endWrite(s);
+        }
+    }
+
+    private long beginRead() {
+        long s;
+        while (((s = sequence) & 1) != 0) {
+            Thread.onSpinWait();
+        }
+        return s;
+    }
+
+    private boolean validate(long s) {
+        // keep the data reads above from moving below the second read of the sequence
+        VarHandle.acquireFence();
+        return (long) SEQUENCE.getOpaque(this) == s;
+    }
+
+    private long beginWrite() {
+        // the atomic add is a full fence, so data writes cannot move above it
+        return (long) SEQUENCE.getAndAdd(this, 1L);
+    }
+
+    private void endWrite(long s) {
+        SEQUENCE.setRelease(this, s + 2);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
@@ -0,0 +1,92 @@
+package sekury.concurrency.locks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Readers first read without locking and validate an optimistic stamp afterwards, so an uncontended read does not
+ * write to shared memory at all. Only a read that overlapped a write falls back to the read lock.
+ */
+public class StampedLockList<E> implements ReadMostlyList<E> {
+
+    private final StampedLock lock = new StampedLock();
+    private final ArrayStore store = new ArrayStore();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        Object[] a = store.elements;
+        int n = store.size;
+        Object e = index >= 0 && index < n && index < a.length ? a[index] : null;
+        if (lock.validate(stamp)) {
+            ArrayStore.checkIndex(index, n);
+            return (E) e;
+        }
+        stamp = lock.readLock();
+        try {
+            return (E) store.get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int n = store.size;
+        if (lock.validate(stamp)) {
+            return n;
+        }
+        stamp = lock.readLock();
+        try {
+            return store.size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<E> snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        Object[] copy = store.racyCopy();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                copy = store.copy();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return Collections.unmodifiableList((List<E>) Arrays.asList(copy));
+    }
+
+    @Override
+    public void add(E e) {
+        long stamp = lock.writeLock();
+        try {
+            store.add(e);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E e) {
+        long stamp = lock.writeLock();
+        try {
+            return (E) store.set(index, e);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
@@ -0,0 +1,277 @@
+package sekury.concurrency.logging;
+
+import sekury.concurrency.queues.PaddedSequence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logger whose calling threads only store a timestamp, a template id and up to three {@code long} arguments into
+ * a buffer of their own; they never format, lock, allocate or wait for I/O. A background thread collects the
+ * records, formats them and writes them to the channel in large batches.
+ * <pre>{@code
+ * int done = logger.template("task {} done in {} us");
+ * logger.log(done, taskId, micros);
+ * }</pre>
+ * When a thread's buffer is full, or the logger is closed, records are dropped and counted rather than blocking
+ * the thread or failing, and every {@code log} call tells whether its record was kept. Lines from
+ * different threads are written per thread buffer, so within one batch they are not strictly in time order.
+ */
+public class AsyncLogger implements AutoCloseable {
+
+    private static final int RECORD = 5; // time, template and argument count, 3 arguments
+    private static final long DEFAULT_FLUSH_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final WritableByteChannel channel;
+    private final int capacity;
+    private final List<String[]> templates = new CopyOnWriteArrayList<>();
+    private final List<ThreadBuffer> buffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<ThreadBuffer> local = ThreadLocal.withInitial(this::register);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // writer thread only
+    private final StringBuilder line = new StringBuilder(256);
+    private final CharBuffer chars = CharBuffer.allocate(4096);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(64 * 1024);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private long reportedDrops;
+
+    /**
+     * Appends to the file, creating it if needed.
+     */
+    public AsyncLogger(Path file, int capacity) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+                capacity);
+    }
+
+    /**
+     * @param capacity records each thread can have pending before further ones are dropped, a power of two
+     */
+    public AsyncLogger(WritableByteChannel channel, int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.channel = channel;
+        this.capacity = capacity;
+        this.writer = new Thread(this::writeLoop, "async-logger");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Registers a message template where each {@code {}} is replaced by an argument, and returns its id.
+     */
+    public synchronized int template(String pattern) {
+        templates.add(pattern.split("\\{}", -1));
+        return templates.size() - 1;
+    }
+
+    /**
+     * Records the message. Returns false if it was dropped.
+     */
+    public boolean log(int template) {
+        return local.get().add(template, 0, 0, 0, 0);
+    }
+
+    public boolean log(int template, long a) {
+        return local.get().add(template, 1, a, 0, 0);
+    }
+
+    public boolean log(int template, long a, long b) {
+        return local.get().add(template, 2, a, b, 0);
+    }
+
+    public boolean log(int template, long a, long b, long c) {
+        return local.get().add(template, 3, a, b, c);
+    }
+
+    /**
+     * Records dropped so far because a thread's buffer was full or the logger was closed.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes everything logged so far, stops the writer and closes the channel. Records logged from now on are
+     * dropped, and so are those that raced with closing and missed the last write.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (ThreadBuffer buffer : buffers) {
+            dropped.addAndGet(buffer.tail.getAcquire() - buffer.head.getPlain());
+        }
+        channel.close();
+    }
+
+    private ThreadBuffer register() {
+        ThreadBuffer buffer = new ThreadBuffer(Thread.currentThread(), capacity);
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    private void writeLoop() {
+        try {
+            while (running) {
+                if (drainAll() == 0) {
+                    flush();
+                    LockSupport.parkNanos(DEFAULT_FLUSH_NANOS);
+                }
+            }
+            drainAll();
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int drainAll() throws IOException {
+        int drained = 0;
+        List<ThreadBuffer> finished = null;
+        for (ThreadBuffer buffer : buffers) {
+            // a thread that is not alive before the drain cannot add records after it
+            boolean alive = buffer.owner.isAlive();
+            drained += buffer.drain();
+            if (!alive && buffer.isEmpty()) {
+                if (finished == null) {
+                    finished = new ArrayList<>();
+                }
+                finished.add(buffer);
+            }
+        }
+        if (finished != null) {
+            buffers.removeAll(finished);
+        }
+        long drops = dropped.get();
+        if (drops != reportedDrops) {
+            line.setLength(0);
+            line.append(System.currentTimeMillis()).append(" [async-logger] dropped ").append(drops - reportedDrops)
+                    .append(" records\n");
+            write();
+            reportedDrops = drops;
+        }
+        return drained;
+    }
+
+    private void format(ThreadBuffer buffer, long[] records, int offset) throws IOException {
+        String[] parts = templates.get((int) (records[offset + 1] >>> 8));
+        int argc = (int) (records[offset + 1] & 0xff);
+        line.setLength(0);
+        line.append(records[offset]).append(" [").append(buffer.name).append("] ");
+        for (int i = 0; i < parts.length; i++) {
+            line.append(parts[i]);
+            if (i < parts.length - 1) {
+                if (i < argc) {
+                    line.append(records[offset + 2 + i]);
+                } else {
+                    line.append("{}");
+                }
+            }
+        }
+        line.append('\n');
+        write();
+    }
+
+    private void write() throws IOException {
+        char[] array = chars.array();
+        for (int start = 0; start < line.length(); start += array.length) {
+            int end = Math.min(line.length(), start + array.length);
+            line.getChars(start, end, array, 0);
+            chars.clear().limit(end - start);
+            while (encoder.encode(chars, bytes, false).isOverflow()) {
+                flush();
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Single-producer, single-consumer ring of fixed-size records owned by one logging thread.
+     */
+    private final class ThreadBuffer {
+        final Thread owner;
+        final String name;
+        final long[] records;
+        final int mask;
+        final PaddedSequence head = new PaddedSequence(0);
+        final PaddedSequence tail = new PaddedSequence(0);
+        long cachedHead; // owner only
+
+        ThreadBuffer(Thread owner, int capacity) {
+            this.owner = owner;
+            this.name = owner.getName();
+            this.records = new long[capacity * RECORD];
+            this.mask = capacity - 1;
+        }
+
+        boolean add(int template, int argc, long a, long b, long c) {
+            if (!running) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            long t = tail.getPlain();
+            if (t - cachedHead == records.length / RECORD) {
+                cachedHead = head.getAcquire();
+                if (t - cachedHead == records.length / RECORD) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+            }
+            int offset = (int) (t & mask) * RECORD;
+            records[offset] = System.currentTimeMillis();
+            records[offset + 1] = (long) template << 8 | argc;
+            records[offset + 2] = a;
+            records[offset + 3] = b;
+            records[offset + 4] = c;
+            tail.setRelease(t + 1);
+            return true;
+        }
+
+        boolean isEmpty() {
+            return head.getPlain() == tail.getAcquire();
+        }
+
+        int drain() throws IOException {
+            long h = head.getPlain();
+            long t = tail.getAcquire();
+            for (long s = h; s < t; s++) {
+                format(this, records, (int) (s & mask) * RECORD);
+                head.setRelease(s + 1); // free each slot at once so the owner can go on logging
+            }
+            return (int) (t - h);
+        }
+    }
+}
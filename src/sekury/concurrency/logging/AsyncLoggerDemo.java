@@ -0,0 +1,65 @@
+package sekury.concurrency.logging;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AsyncLoggerDemo {
+
+    private static final int THREADS = 4;
+    private static final int MESSAGES = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        Path printed = Files.createTempFile("printf", ".log");
+        Path logged = Files.createTempFile("async", ".log");
+
+        try (PrintStream out = new PrintStream(new FileOutputStream(printed.toFile()), false)) {
+            long nanos = run((task, i) -> out.printf("%d [%s] task %d step %d%n",
+                    System.currentTimeMillis(), Thread.currentThread().getName(), task, i));
+            System.out.printf("printf:      %d ns per message in the calling threads%n", nanos);
+        }
+
+        try (AsyncLogger logger = new AsyncLogger(logged, 1 << 16)) {
+            int step = logger.template("task {} step {}");
+            long nanos = run((task, i) -> logger.log(step, task, i));
+            System.out.printf("AsyncLogger: %d ns per message in the calling threads, %d dropped%n",
+                    nanos, logger.getDroppedCount());
+        }
+
+        List<String> lines = Files.readAllLines(logged);
+        System.out.printf("Lines written: printf %d, AsyncLogger %d%n",
+                Files.readAllLines(printed).size(), lines.size());
+        System.out.println("Last line: " + lines.get(lines.size() - 1));
+        Files.delete(printed);
+        Files.delete(logged);
+    }
+
+    interface Call {
+        void log(long task, long i);
+    }
+
+    private static long run(Call call) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicLong elapsed = new AtomicLong();
+        for (int t = 0; t < THREADS; t++) {
+            long task = t;
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                for (int i = 0; i < MESSAGES; i++) {
+                    call.log(task, i);
+                }
+                elapsed.addAndGet(System.nanoTime() - start);
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return elapsed.get() / (THREADS * MESSAGES);
+    }
+}
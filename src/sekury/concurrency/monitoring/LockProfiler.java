@@ -0,0 +1,93 @@
+package sekury.concurrency.monitoring;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Creates {@link ProfiledLock}s, registers them with the platform MBean server under
+ * {@code sekury.concurrency:type=ProfiledLock,name=<name>}, and optionally reports interval statistics of all
+ * of them periodically.
+ */
+public class LockProfiler implements AutoCloseable {
+
+    private final Map<String, ProfiledLock> locks = new ConcurrentHashMap<>();
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private volatile ScheduledExecutorService reporter;
+
+    public ProfiledLock newLock(String name) {
+        return newLock(name, false);
+    }
+
+    public ProfiledLock newLock(String name, boolean fair) {
+        ProfiledLock lock = new ProfiledLock(name, fair);
+        if (locks.putIfAbsent(name, lock) != null) {
+            throw new IllegalArgumentException("Lock already exists: " + name);
+        }
+        try {
+            server.registerMBean(lock, objectName(name));
+        } catch (JMException e) {
+            locks.remove(name);
+            throw new IllegalStateException("Cannot register lock " + name, e);
+        }
+        return lock;
+    }
+
+    public List<LockStats> snapshot() {
+        List<LockStats> stats = new ArrayList<>();
+        locks.values().forEach(lock -> stats.add(lock.snapshot()));
+        return stats;
+    }
+
+    /**
+     * Passes the statistics of every lock for the last period to {@code consumer}, once per period, on a
+     * background daemon thread.
+     */
+    public synchronized void startReporting(long period, TimeUnit unit, Consumer<? super List<LockStats>> consumer) {
+        if (reporter != null) {
+            throw new IllegalStateException("Already reporting");
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "lock-profiler-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> {
+            List<LockStats> stats = new ArrayList<>();
+            locks.values().forEach(lock -> stats.add(lock.snapshotAndReset()));
+            consumer.accept(stats);
+        }, period, period, unit);
+    }
+
+    /**
+     * Stops reporting and unregisters all locks from JMX. The locks themselves keep working.
+     */
+    @Override
+    public synchronized void close() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+        for (String name : locks.keySet()) {
+            try {
+                server.unregisterMBean(objectName(name));
+            } catch (JMException e) {
+                // already unregistered
+            }
+        }
+        locks.clear();
+    }
+
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName("sekury.concurrency:type=ProfiledLock,name=" + ObjectName.quote(name));
+    }
+}
@@ -0,0 +1,35 @@
+package sekury.concurrency.monitoring;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class LockProfilerDemo {
+
+    public static void main(String[] args) throws InterruptedException {
+        try (LockProfiler profiler = new LockProfiler()) {
+            ProfiledLock lock = profiler.newLock("demo");
+            profiler.startReporting(1, TimeUnit.SECONDS, stats -> stats.forEach(System.out::println));
+
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            Runnable runnable = () -> {
+                for (int i = 0; i < 20; i++) {
+                    lock.lock();
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(50);
+                    } catch (InterruptedException e) {
+                        e.printStackTrace();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            };
+            executor.execute(runnable);
+            executor.execute(runnable);
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+
+            System.out.println("Since last report: " + lock.snapshot());
+        }
+    }
+}
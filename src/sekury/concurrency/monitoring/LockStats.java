@@ -0,0 +1,59 @@
+package sekury.concurrency.monitoring;
+
+import java.util.Map;
+
+public final class LockStats {
+
+    private final String name;
+    private final long acquisitions;
+    private final long contentions;
+    private final HistogramSnapshot waitTimes;
+    private final HistogramSnapshot holdTimes;
+    private final Map<String, Long> topOwners;
+
+    LockStats(String name, long acquisitions, long contentions, HistogramSnapshot waitTimes,
+              HistogramSnapshot holdTimes, Map<String, Long> topOwners) {
+        this.name = name;
+        this.acquisitions = acquisitions;
+        this.contentions = contentions;
+        this.waitTimes = waitTimes;
+        this.holdTimes = holdTimes;
+        this.topOwners = topOwners;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions;
+    }
+
+    public long getContentions() {
+        return contentions;
+    }
+
+    /**
+     * Time from calling {@code lock()} to holding the lock, in nanoseconds.
+     */
+    public HistogramSnapshot getWaitTimes() {
+        return waitTimes;
+    }
+
+    /**
+     * Time from acquiring the lock to the matching final {@code unlock()}, in nanoseconds.
+     */
+    public HistogramSnapshot getHoldTimes() {
+        return holdTimes;
+    }
+
+    public Map<String, Long> getTopOwners() {
+        return topOwners;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: acquisitions=%d contentions=%d%n  wait ns: %s%n  hold ns: %s%n  top owners: %s",
+                name, acquisitions, contentions, waitTimes, holdTimes, topOwners);
+    }
+}
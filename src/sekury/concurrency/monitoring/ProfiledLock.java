@@ -0,0 +1,317 @@
+package sekury.concurrency.monitoring;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ReentrantLock} that records how long threads wait for it and how long they hold it.
+ * <p>
+ * An uncontended {@code lock()} succeeds on the {@code tryLock()} fast path and only costs two clock reads and a
+ * few atomic increments. When the fast path fails, the acquisition counts as a contention and is charged to
+ * the thread that owned the lock at that moment. A fair lock skips the fast path so that it stays fair.
+ */
+public class ProfiledLock implements Lock, ProfiledLockMXBean {
+
+    private static final int TOP_OWNERS = 10;
+
+    private final String name;
+    private final OwnerAwareLock delegate;
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+    private final LatencyHistogram holdTimes = new LatencyHistogram();
+    private final LongAdder contentions = new LongAdder();
+    private final Map<String, LongAdder> owners = new ConcurrentHashMap<>();
+
+    /**
+     * Written and read only by the owning thread.
+     */
+    private long acquiredAt;
+
+    public ProfiledLock(String name) {
+        this(name, false);
+    }
+
+    public ProfiledLock(String name, boolean fair) {
+        this.name = name;
+        this.delegate = new OwnerAwareLock(fair);
+    }
+
+    @Override
+    public void lock() {
+        long start = System.nanoTime();
+        if (!tryFast()) {
+            delegate.lock();
+        }
+        acquired(start);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        long start = System.nanoTime();
+        if (!tryFast()) {
+            delegate.lockInterruptibly();
+        }
+        acquired(start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        long start = System.nanoTime();
+        if (delegate.tryLock()) {
+            acquired(start);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        long start = System.nanoTime();
+        if (!tryFast() && !delegate.tryLock(time, unit)) {
+            return false;
+        }
+        acquired(start);
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        if (delegate.getHoldCount() == 1) {
+            holdTimes.record(System.nanoTime() - acquiredAt);
+        }
+        delegate.unlock();
+    }
+
+    /**
+     * The condition records the hold time up to {@code await} and restarts it once the lock is reacquired, as
+     * other threads take the lock in between.
+     */
+    @Override
+    public Condition newCondition() {
+        return new ProfiledCondition(delegate.newCondition());
+    }
+
+    public boolean isHeldByCurrentThread() {
+        return delegate.isHeldByCurrentThread();
+    }
+
+    /**
+     * Statistics since the lock was created or last reset.
+     */
+    public LockStats snapshot() {
+        HistogramSnapshot waits = waitTimes.snapshot();
+        return new LockStats(name, waits.getCount(), contentions.sum(), waits, holdTimes.snapshot(), getTopOwners());
+    }
+
+    /**
+     * Statistics since the previous call, for periodic reporting. JMX attributes are reset as well.
+     */
+    public LockStats snapshotAndReset() {
+        HistogramSnapshot waits = waitTimes.snapshotAndReset();
+        HistogramSnapshot holds = holdTimes.snapshotAndReset();
+        Map<String, Long> topOwners = getTopOwners();
+        owners.clear();
+        return new LockStats(name, waits.getCount(), contentions.sumThenReset(), waits, holds, topOwners);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getAcquisitions() {
+        return waitTimes.snapshot().getCount();
+    }
+
+    @Override
+    public long getContentions() {
+        return contentions.sum();
+    }
+
+    @Override
+    public long getWaitP50() {
+        return waitTimes.snapshot().getP50();
+    }
+
+    @Override
+    public long getWaitP99() {
+        return waitTimes.snapshot().getP99();
+    }
+
+    @Override
+    public long getWaitP999() {
+        return waitTimes.snapshot().getP999();
+    }
+
+    @Override
+    public long getWaitMax() {
+        return waitTimes.snapshot().getMax();
+    }
+
+    @Override
+    public long getHoldP50() {
+        return holdTimes.snapshot().getP50();
+    }
+
+    @Override
+    public long getHoldP99() {
+        return holdTimes.snapshot().getP99();
+    }
+
+    @Override
+    public long getHoldP999() {
+        return holdTimes.snapshot().getP999();
+    }
+
+    @Override
+    public long getHoldMax() {
+        return holdTimes.snapshot().getMax();
+    }
+
+    @Override
+    public Map<String, Long> getTopOwners() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        owners.forEach((owner, count) -> entries.add(Map.entry(owner, count.sum())));
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries.subList(0, Math.min(TOP_OWNERS, entries.size()))) {
+            top.put(entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
+
+    /**
+     * Takes the lock if that needs no waiting, otherwise counts a contention if the lock is busy. A fair lock is
+     * only looked at, since {@code tryLock()} would barge ahead of the threads queued for it.
+     */
+    private boolean tryFast() {
+        if (delegate.isFair()) {
+            if (!delegate.isHeldByCurrentThread() && (delegate.isLocked() || delegate.hasQueuedThreads())) {
+                contended();
+            }
+            return false;
+        }
+        if (delegate.tryLock()) {
+            return true;
+        }
+        contended();
+        return false;
+    }
+
+    private void contended() {
+        contentions.increment();
+        Thread owner = delegate.owner();
+        if (owner != null) {
+            owners.computeIfAbsent(owner.getName(), k -> new LongAdder()).increment();
+        }
+    }
+
+    private void acquired(long start) {
+        long now = System.nanoTime();
+        if (delegate.getHoldCount() == 1) {
+            acquiredAt = now;
+        }
+        waitTimes.record(now - start);
+    }
+
+    private void beforeAwait() {
+        // await releases every hold, whatever the hold count
+        if (delegate.isHeldByCurrentThread()) {
+            holdTimes.record(System.nanoTime() - acquiredAt);
+        }
+    }
+
+    private void afterAwait() {
+        if (delegate.isHeldByCurrentThread()) {
+            acquiredAt = System.nanoTime();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ProfiledLock{" + name + ", " + delegate + '}';
+    }
+
+    private static final class OwnerAwareLock extends ReentrantLock {
+        OwnerAwareLock(boolean fair) {
+            super(fair);
+        }
+
+        Thread owner() {
+            return getOwner();
+        }
+    }
+
+    private final class ProfiledCondition implements Condition {
+        private final Condition condition;
+
+        ProfiledCondition(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            beforeAwait();
+            try {
+                condition.await();
+            } finally {
+                afterAwait();
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            beforeAwait();
+            try {
+                condition.awaitUninterruptibly();
+            } finally {
+                afterAwait();
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            beforeAwait();
+            try {
+                return condition.awaitNanos(nanosTimeout);
+            } finally {
+                afterAwait();
+            }
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            beforeAwait();
+            try {
+                return condition.await(time, unit);
+            } finally {
+                afterAwait();
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            beforeAwait();
+            try {
+                return condition.awaitUntil(deadline);
+            } finally {
+                afterAwait();
+            }
+        }
+
+        @Override
+        public void signal() {
+            condition.signal();
+        }
+
+        @Override
+        public void signalAll() {
+            condition.signalAll();
+        }
+    }
+}
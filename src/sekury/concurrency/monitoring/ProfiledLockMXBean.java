@@ -0,0 +1,37 @@
+package sekury.concurrency.monitoring;
+
+import java.util.Map;
+
+/**
+ * JMX view of a {@link ProfiledLock}. Times are in nanoseconds, counted since creation or since the last
+ * {@link ProfiledLock#snapshotAndReset()}.
+ */
+public interface ProfiledLockMXBean {
+
+    String getName();
+
+    long getAcquisitions();
+
+    long getContentions();
+
+    long getWaitP50();
+
+    long getWaitP99();
+
+    long getWaitP999();
+
+    long getWaitMax();
+
+    long getHoldP50();
+
+    long getHoldP99();
+
+    long getHoldP999();
+
+    long getHoldMax();
+
+    /**
+     * Threads that held the lock when another thread had to wait for it, with the number of such waits.
+     */
+    Map<String, Long> getTopOwners();
+}
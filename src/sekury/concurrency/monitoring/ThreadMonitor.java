@@ -0,0 +1,353 @@
+package sekury.concurrency.monitoring;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Samples CPU time, user time, allocated bytes and blocked/waited counts and times of all live threads through
+ * {@link ThreadMXBean}, and keeps the differences to the previous sample.
+ * <p>
+ * A sample reads every counter with one bulk call per metric, asks for thread infos without stack traces, and
+ * keeps only the top N threads per metric in a bounded heap, so sampling thousands of threads once a second costs
+ * a few milliseconds. The monitor registers itself with the platform MBean server under
+ * {@code sekury.concurrency:type=ThreadMonitor,name=<name>}.
+ */
+public class ThreadMonitor implements ThreadMonitorMXBean, AutoCloseable {
+
+    // the ThreadMXBean flags are global, so they are restored only when the last monitor closes
+    private static int openMonitors;
+    private static boolean enabledCpuTime;
+    private static boolean enabledContention;
+    private static boolean enabledAllocation;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.ThreadMXBean extended;
+    private final ObjectName objectName;
+    private final int topN;
+
+    // guarded by this
+    private final Map<Long, ThreadState> states = new HashMap<>();
+    private long lastSampleNanos;
+    private long sampleCount;
+
+    private volatile ThreadSnapshot latest;
+    private volatile long sampleCostNanos;
+    private ScheduledExecutorService sampler;
+    private boolean closed;
+
+    public ThreadMonitor(String name, int topN) {
+        if (topN <= 0) {
+            throw new IllegalArgumentException("topN must be positive: " + topN);
+        }
+        this.topN = topN;
+        this.extended = threads instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) threads : null;
+        enableMeasurements(threads, extended);
+        // the first sample is the baseline, so the first reported interval does not count whole thread lifetimes;
+        // it also has to exist before JMX clients can read attributes
+        sample();
+        try {
+            objectName = new ObjectName("sekury.concurrency:type=ThreadMonitor,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (JMException e) {
+            restoreMeasurements(threads, extended);
+            throw new IllegalStateException("Cannot register thread monitor " + name, e);
+        }
+    }
+
+    /**
+     * Takes a sample and returns the activity since the previous one.
+     */
+    public synchronized ThreadSnapshot sample() {
+        long start = System.nanoTime();
+        long[] ids = threads.getAllThreadIds();
+        long[] cpu = cpuTimes(ids, false);
+        long[] user = cpuTimes(ids, true);
+        long[] allocated = allocatedBytes(ids);
+        ThreadInfo[] infos = threads.getThreadInfo(ids, 0);
+
+        sampleCount++;
+        PriorityQueue<ThreadState> byCpu = new PriorityQueue<>(topN + 1, Comparator.comparingLong(s -> s.cpu));
+        PriorityQueue<ThreadState> byAllocation =
+                new PriorityQueue<>(topN + 1, Comparator.comparingLong(s -> s.allocated));
+        int threadCount = 0;
+        long totalCpu = 0;
+        long totalAllocated = 0;
+        long totalBlocked = 0;
+        long totalWaited = 0;
+        for (int i = 0; i < ids.length; i++) {
+            ThreadInfo info = infos[i];
+            if (info == null) {
+                continue; // terminated since getAllThreadIds
+            }
+            ThreadState state = states.computeIfAbsent(ids[i], ThreadState::new);
+            state.update(sampleCount, info, cpu[i], user[i], allocated[i]);
+            threadCount++;
+            totalCpu += Math.max(state.cpu, 0);
+            totalAllocated += Math.max(state.allocated, 0);
+            totalBlocked += state.blockedCount;
+            totalWaited += state.waitedCount;
+            offer(byCpu, state);
+            offer(byAllocation, state);
+        }
+        states.values().removeIf(state -> state.sample != sampleCount);
+
+        long now = System.nanoTime();
+        ThreadSnapshot snapshot = new ThreadSnapshot(System.currentTimeMillis(),
+                lastSampleNanos == 0 ? 0 : start - lastSampleNanos, threadCount, totalCpu, totalAllocated,
+                totalBlocked, totalWaited, top(byCpu), top(byAllocation));
+        lastSampleNanos = start;
+        sampleCostNanos = now - start;
+        latest = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Returns the latest sample, taken by {@link #sample()} or by the background sampler.
+     */
+    public ThreadSnapshot getLatest() {
+        return latest;
+    }
+
+    public void start(long period, TimeUnit unit) {
+        start(period, unit, snapshot -> {
+        });
+    }
+
+    /**
+     * Samples once per period on a background daemon thread and passes each sample to {@code consumer}.
+     */
+    public synchronized void start(long period, TimeUnit unit, Consumer<? super ThreadSnapshot> consumer) {
+        if (sampler != null) {
+            throw new IllegalStateException("Already sampling");
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "thread-monitor-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(() -> consumer.accept(sample()), period, period, unit);
+    }
+
+    /**
+     * Stops sampling and unregisters the monitor from JMX.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (sampler != null) {
+            sampler.shutdownNow();
+            sampler = null;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            // already unregistered
+        }
+        restoreMeasurements(threads, extended);
+    }
+
+    private static synchronized void enableMeasurements(ThreadMXBean threads,
+                                                        com.sun.management.ThreadMXBean extended) {
+        if (openMonitors++ > 0) {
+            return;
+        }
+        enabledCpuTime = threads.isThreadCpuTimeSupported() && !threads.isThreadCpuTimeEnabled();
+        if (enabledCpuTime) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        enabledContention = threads.isThreadContentionMonitoringSupported()
+                && !threads.isThreadContentionMonitoringEnabled();
+        if (enabledContention) {
+            threads.setThreadContentionMonitoringEnabled(true);
+        }
+        enabledAllocation = extended != null && extended.isThreadAllocatedMemorySupported()
+                && !extended.isThreadAllocatedMemoryEnabled();
+        if (enabledAllocation) {
+            extended.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    /**
+     * Turns off what {@link #enableMeasurements} turned on, once no monitor is open any more.
+     */
+    private static synchronized void restoreMeasurements(ThreadMXBean threads,
+                                                         com.sun.management.ThreadMXBean extended) {
+        if (--openMonitors > 0) {
+            return;
+        }
+        if (enabledCpuTime) {
+            threads.setThreadCpuTimeEnabled(false);
+        }
+        if (enabledContention) {
+            threads.setThreadContentionMonitoringEnabled(false);
+        }
+        if (enabledAllocation) {
+            extended.setThreadAllocatedMemoryEnabled(false);
+        }
+    }
+
+    @Override
+    public synchronized long getSampleCount() {
+        return sampleCount;
+    }
+
+    @Override
+    public int getThreadCount() {
+        return latest.getThreadCount();
+    }
+
+    @Override
+    public double getCpuLoad() {
+        return latest.getCpuLoad();
+    }
+
+    @Override
+    public long getAllocationRate() {
+        return latest.getAllocationRate();
+    }
+
+    @Override
+    public long getBlockedCount() {
+        return latest.getBlockedCount();
+    }
+
+    @Override
+    public long getWaitedCount() {
+        return latest.getWaitedCount();
+    }
+
+    @Override
+    public Map<String, Long> getTopByCpu() {
+        return toMap(latest.getTopByCpu(), ThreadStats::getCpuNanos);
+    }
+
+    @Override
+    public Map<String, Long> getTopByAllocation() {
+        return toMap(latest.getTopByAllocation(), ThreadStats::getAllocatedBytes);
+    }
+
+    @Override
+    public long getSampleCostNanos() {
+        return sampleCostNanos;
+    }
+
+    private long[] cpuTimes(long[] ids, boolean user) {
+        if (!threads.isThreadCpuTimeSupported()) {
+            return unsupported(ids);
+        }
+        if (extended != null) {
+            return user ? extended.getThreadUserTime(ids) : extended.getThreadCpuTime(ids);
+        }
+        long[] times = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            times[i] = user ? threads.getThreadUserTime(ids[i]) : threads.getThreadCpuTime(ids[i]);
+        }
+        return times;
+    }
+
+    private long[] allocatedBytes(long[] ids) {
+        if (extended == null || !extended.isThreadAllocatedMemorySupported()) {
+            return unsupported(ids);
+        }
+        return extended.getThreadAllocatedBytes(ids);
+    }
+
+    private static long[] unsupported(long[] ids) {
+        long[] values = new long[ids.length];
+        Arrays.fill(values, -1);
+        return values;
+    }
+
+    private void offer(PriorityQueue<ThreadState> heap, ThreadState state) {
+        heap.offer(state);
+        if (heap.size() > topN) {
+            heap.poll();
+        }
+    }
+
+    private static List<ThreadStats> top(PriorityQueue<ThreadState> heap) {
+        ThreadStats[] top = new ThreadStats[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) {
+            top[i] = heap.poll().toStats();
+        }
+        return Arrays.asList(top);
+    }
+
+    private static Map<String, Long> toMap(List<ThreadStats> stats, ToLongFunction<ThreadStats> value) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        stats.forEach(s -> map.put(s.getName() + "#" + s.getId(), value.applyAsLong(s)));
+        return map;
+    }
+
+    /**
+     * Previous totals of a thread and its differences in the latest sample.
+     */
+    private static final class ThreadState {
+        final long id;
+        long sample;
+        String name;
+        Thread.State state;
+
+        long totalCpu;
+        long totalUser;
+        long totalAllocated;
+        long totalBlockedCount;
+        long totalBlockedMillis;
+        long totalWaitedCount;
+        long totalWaitedMillis;
+
+        long cpu;
+        long user;
+        long allocated;
+        long blockedCount;
+        long blockedMillis;
+        long waitedCount;
+        long waitedMillis;
+
+        ThreadState(long id) {
+            this.id = id;
+        }
+
+        void update(long sample, ThreadInfo info, long cpu, long user, long allocated) {
+            this.sample = sample;
+            this.name = info.getThreadName();
+            this.state = info.getThreadState();
+            this.cpu = delta(cpu, totalCpu);
+            this.user = delta(user, totalUser);
+            this.allocated = delta(allocated, totalAllocated);
+            this.blockedCount = delta(info.getBlockedCount(), totalBlockedCount);
+            this.blockedMillis = delta(info.getBlockedTime(), totalBlockedMillis);
+            this.waitedCount = delta(info.getWaitedCount(), totalWaitedCount);
+            this.waitedMillis = delta(info.getWaitedTime(), totalWaitedMillis);
+            totalCpu = cpu;
+            totalUser = user;
+            totalAllocated = allocated;
+            totalBlockedCount = info.getBlockedCount();
+            totalBlockedMillis = info.getBlockedTime();
+            totalWaitedCount = info.getWaitedCount();
+            totalWaitedMillis = info.getWaitedTime();
+        }
+
+        private static long delta(long current, long previous) {
+            return current < 0 ? -1 : current - Math.max(previous, 0);
+        }
+
+        ThreadStats toStats() {
+            return new ThreadStats(id, name, state, cpu, user, allocated,
+                    blockedCount, blockedMillis, waitedCount, waitedMillis);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package sekury.concurrency.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ThreadMonitorDemo {
+
+    public static void main(String[] args) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> {
+            long x = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                x += System.nanoTime() % 7;
+            }
+            System.out.println("Spinner result: " + x);
+        }, "spinner"));
+        threads.add(new Thread(() -> {
+            List<byte[]> garbage = new ArrayList<>();
+            while (!Thread.currentThread().isInterrupted()) {
+                garbage.add(new byte[1024]);
+                if (garbage.size() == 1024) {
+                    garbage.clear();
+                }
+            }
+        }, "allocator"));
+        Object lock = new Object();
+        for (int i = 0; i < 2; i++) {
+            threads.add(new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    synchronized (lock) {
+                        long deadline = System.nanoTime() + 1_000_000;
+                        while (System.nanoTime() < deadline) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }
+            }, "contender-" + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            threads.add(new Thread(() -> {
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (InterruptedException e) {
+                    // stop
+                }
+            }, "sleeper-" + i));
+        }
+        threads.forEach(Thread::start);
+
+        try (ThreadMonitor monitor = new ThreadMonitor("demo", 3)) {
+            monitor.start(1, TimeUnit.SECONDS, snapshot -> {
+                System.out.println(snapshot);
+                System.out.println("  top allocators: " + monitor.getTopByAllocation());
+                System.out.printf("  sample took %d us%n", monitor.getSampleCostNanos() / 1000);
+            });
+            TimeUnit.MILLISECONDS.sleep(3500);
+        }
+        threads.forEach(Thread::interrupt);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package sekury.concurrency.monitoring;
+
+import java.util.Map;
+
+/**
+ * JMX view of the latest {@link ThreadMonitor} sample.
+ */
+public interface ThreadMonitorMXBean {
+
+    long getSampleCount();
+
+    int getThreadCount();
+
+    double getCpuLoad();
+
+    /**
+     * Bytes allocated per second by all threads.
+     */
+    long getAllocationRate();
+
+    long getBlockedCount();
+
+    long getWaitedCount();
+
+    /**
+     * The hottest threads as {@code name#id} with their CPU time in the last interval, in nanoseconds.
+     */
+    Map<String, Long> getTopByCpu();
+
+    /**
+     * The threads that allocated the most as {@code name#id} with the bytes allocated in the last interval.
+     */
+    Map<String, Long> getTopByAllocation();
+
+    /**
+     * Time the last sample took, in nanoseconds.
+     */
+    long getSampleCostNanos();
+}
@@ -0,0 +1,93 @@
+package sekury.concurrency.monitoring;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of one {@link ThreadMonitor} sample: totals over all live threads and the hottest threads of the interval.
+ */
+public final class ThreadSnapshot {
+
+    private final long timestampMillis;
+    private final long intervalNanos;
+    private final int threadCount;
+    private final long cpuNanos;
+    private final long allocatedBytes;
+    private final long blockedCount;
+    private final long waitedCount;
+    private final List<ThreadStats> topByCpu;
+    private final List<ThreadStats> topByAllocation;
+
+    ThreadSnapshot(long timestampMillis, long intervalNanos, int threadCount, long cpuNanos, long allocatedBytes,
+                   long blockedCount, long waitedCount, List<ThreadStats> topByCpu,
+                   List<ThreadStats> topByAllocation) {
+        this.timestampMillis = timestampMillis;
+        this.intervalNanos = intervalNanos;
+        this.threadCount = threadCount;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.blockedCount = blockedCount;
+        this.waitedCount = waitedCount;
+        this.topByCpu = Collections.unmodifiableList(topByCpu);
+        this.topByAllocation = Collections.unmodifiableList(topByAllocation);
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Time since the previous sample, or since the monitor was created for the first one.
+     */
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    /**
+     * CPU time used by all threads divided by wall-clock time, so {@code 2.0} means two busy cores.
+     */
+    public double getCpuLoad() {
+        return intervalNanos == 0 ? 0 : (double) cpuNanos / intervalNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getAllocationRate() {
+        return intervalNanos == 0 ? 0 : (long) (allocatedBytes * 1e9 / intervalNanos);
+    }
+
+    public long getBlockedCount() {
+        return blockedCount;
+    }
+
+    public long getWaitedCount() {
+        return waitedCount;
+    }
+
+    public List<ThreadStats> getTopByCpu() {
+        return topByCpu;
+    }
+
+    public List<ThreadStats> getTopByAllocation() {
+        return topByAllocation;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "threads=%d cpu=%.2f cores alloc=%d B/s blocked=%d waited=%d",
+                threadCount, getCpuLoad(), getAllocationRate(), blockedCount, waitedCount));
+        topByCpu.forEach(stats -> sb.append(System.lineSeparator()).append("  ").append(stats));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package sekury.concurrency.monitoring;
+
+/**
+ * Activity of one thread during a sampling interval. Values that the JVM does not support are {@code -1}.
+ */
+public final class ThreadStats {
+
+    private final long id;
+    private final String name;
+    private final Thread.State state;
+    private final long cpuNanos;
+    private final long userNanos;
+    private final long allocatedBytes;
+    private final long blockedCount;
+    private final long blockedMillis;
+    private final long waitedCount;
+    private final long waitedMillis;
+
+    ThreadStats(long id, String name, Thread.State state, long cpuNanos, long userNanos, long allocatedBytes,
+                long blockedCount, long blockedMillis, long waitedCount, long waitedMillis) {
+        this.id = id;
+        this.name = name;
+        this.state = state;
+        this.cpuNanos = cpuNanos;
+        this.userNanos = userNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.blockedCount = blockedCount;
+        this.blockedMillis = blockedMillis;
+        this.waitedCount = waitedCount;
+        this.waitedMillis = waitedMillis;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * State at the time of the sample.
+     */
+    public Thread.State getState() {
+        return state;
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public long getUserNanos() {
+        return userNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Times the thread blocked entering or re-entering a monitor.
+     */
+    public long getBlockedCount() {
+        return blockedCount;
+    }
+
+    public long getBlockedMillis() {
+        return blockedMillis;
+    }
+
+    /**
+     * Times the thread waited in {@code Object.wait}, {@code Thread.join}, {@code LockSupport.park} and the like.
+     */
+    public long getWaitedCount() {
+        return waitedCount;
+    }
+
+    public long getWaitedMillis() {
+        return waitedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s#%d %s: cpu=%dus user=%dus alloc=%dB blocked=%d/%dms waited=%d/%dms",
+                name, id, state, cpuNanos / 1000, userNanos / 1000, allocatedBytes,
+                blockedCount, blockedMillis, waitedCount, waitedMillis);
+    }
+}
@@ -0,0 +1,60 @@
+package sekury.concurrency.pipeline;
+
+import sekury.concurrency.queues.PaddedSequence;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Runs one {@link EventHandler} on its own thread: waits on its barrier, handles every available event in one
+ * batch, then publishes its own sequence once for the whole batch.
+ */
+public class BatchEventProcessor<E> implements Runnable {
+
+    private final RingBuffer<E> ringBuffer;
+    private final SequenceBarrier barrier;
+    private final EventHandler<? super E> handler;
+    private final BiConsumer<? super Exception, ? super E> exceptionHandler;
+    private final PaddedSequence sequence = new PaddedSequence(-1);
+    private volatile boolean running = true;
+
+    BatchEventProcessor(RingBuffer<E> ringBuffer, SequenceBarrier barrier, EventHandler<? super E> handler,
+                        BiConsumer<? super Exception, ? super E> exceptionHandler) {
+        this.ringBuffer = ringBuffer;
+        this.barrier = barrier;
+        this.handler = handler;
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    @Override
+    public void run() {
+        long next = sequence.get() + 1;
+        while (running) {
+            long available = barrier.waitFor(next);
+            if (available < next) {
+                continue; // alerted
+            }
+            for (long s = next; s <= available; s++) {
+                E event = ringBuffer.get(s);
+                try {
+                    handler.onEvent(event, s, s == available);
+                } catch (Exception e) {
+                    exceptionHandler.accept(e, event);
+                }
+            }
+            sequence.setRelease(available);
+            next = available + 1;
+        }
+    }
+
+    /**
+     * Stops the processor after its current batch.
+     */
+    public void halt() {
+        running = false;
+        barrier.alert();
+    }
+
+    public PaddedSequence getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,12 @@
+package sekury.concurrency.pipeline;
+
+@FunctionalInterface
+public interface EventHandler<E> {
+
+    /**
+     * Handles one event of the ring. The event object is reused for later sequences, so it must not be kept.
+     *
+     * @param endOfBatch whether this is the last event currently available, e.g. to flush buffered output
+     */
+    void onEvent(E event, long sequence, boolean endOfBatch) throws Exception;
+}
@@ -0,0 +1,149 @@
+package sekury.concurrency.pipeline;
+
+import sekury.concurrency.queues.PaddedSequence;
+import sekury.concurrency.queues.WaitStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Wires a {@link RingBuffer} to stages of {@link BatchEventProcessor}s. Handlers of one stage run in parallel,
+ * each on its own thread and each seeing every event; a dependent stage only sees an event after every handler of
+ * the previous stage is done with it. The producer is gated by the stages nothing depends on.
+ * <pre>{@code
+ * pipeline.handleWith(parse, audit).then(enrich).then(persist);
+ * pipeline.start();
+ * pipeline.publishEvent((event, line) -> event.line = line, line);
+ * }</pre>
+ * Events are preallocated and updated in place, and stages hand them over through sequence counters only, so
+ * there is no allocation and no lock per event.
+ */
+public class Pipeline<E> {
+
+    private final RingBuffer<E> ringBuffer;
+    private final WaitStrategy waitStrategy;
+    private final List<BatchEventProcessor<E>> processors = new ArrayList<>();
+    private final Set<PaddedSequence> terminal = new LinkedHashSet<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile BiConsumer<? super Exception, ? super E> exceptionHandler = (e, event) -> e.printStackTrace();
+    private volatile boolean started;
+
+    public Pipeline(Supplier<E> factory, int size, WaitStrategy waitStrategy) {
+        this.ringBuffer = new RingBuffer<>(factory, size, waitStrategy);
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Receives exceptions thrown by handlers; the event is skipped and processing goes on. Prints them by default.
+     */
+    public void setExceptionHandler(BiConsumer<? super Exception, ? super E> exceptionHandler) {
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * Adds a first stage that consumes events as soon as they are published.
+     */
+    @SafeVarargs
+    public final Stage handleWith(EventHandler<? super E>... handlers) {
+        return addStage(new PaddedSequence[0], handlers);
+    }
+
+    public void start() {
+        start(r -> new Thread(r, "pipeline-" + threads.size()));
+    }
+
+    public synchronized void start(ThreadFactory threadFactory) {
+        if (started) {
+            throw new IllegalStateException("Already started");
+        }
+        started = true;
+        for (BatchEventProcessor<E> processor : processors) {
+            Thread thread = threadFactory.newThread(processor);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * Publishes one event; the pipeline must be started.
+     */
+    public <A> void publishEvent(BiConsumer<? super E, ? super A> translator, A arg) {
+        if (!started) {
+            throw new IllegalStateException("Pipeline not started");
+        }
+        ringBuffer.publishEvent(translator, arg);
+    }
+
+    /**
+     * Publishes one event from a primitive argument without boxing it; the pipeline must be started.
+     */
+    public void publishEvent(ObjLongConsumer<? super E> translator, long arg) {
+        if (!started) {
+            throw new IllegalStateException("Pipeline not started");
+        }
+        ringBuffer.publishEvent(translator, arg);
+    }
+
+    public RingBuffer<E> getRingBuffer() {
+        return ringBuffer;
+    }
+
+    /**
+     * Waits until every published event went through all stages, then stops the processors.
+     */
+    public void shutdown() throws InterruptedException {
+        long cursor = ringBuffer.getCursor();
+        PaddedSequence[] last = terminal.toArray(new PaddedSequence[0]);
+        int counter = 0;
+        while (RingBuffer.minimumSequence(last, cursor) < cursor) {
+            counter = waitStrategy.idle(counter);
+        }
+        processors.forEach(BatchEventProcessor::halt);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private synchronized Stage addStage(PaddedSequence[] dependencies, EventHandler<? super E>[] handlers) {
+        if (started) {
+            throw new IllegalStateException("Stages must be added before start");
+        }
+        terminal.removeAll(Arrays.asList(dependencies));
+        PaddedSequence[] sequences = new PaddedSequence[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            SequenceBarrier barrier = new SequenceBarrier(ringBuffer.cursorSequence(), dependencies, waitStrategy);
+            // reads the handler at each failure, so setExceptionHandler works after the stages are added
+            BatchEventProcessor<E> processor = new BatchEventProcessor<>(ringBuffer, barrier, handlers[i],
+                    (e, event) -> exceptionHandler.accept(e, event));
+            processors.add(processor);
+            sequences[i] = processor.getSequence();
+            terminal.add(sequences[i]);
+        }
+        // gate the producer right away, also when it publishes through the ring buffer directly
+        ringBuffer.setGatingSequences(terminal.toArray(new PaddedSequence[0]));
+        return new Stage(sequences);
+    }
+
+    public final class Stage {
+        private final PaddedSequence[] sequences;
+
+        private Stage(PaddedSequence[] sequences) {
+            this.sequences = sequences;
+        }
+
+        /**
+         * Adds a stage that sees each event after all handlers of this stage.
+         */
+        @SafeVarargs
+        public final Stage then(EventHandler<? super E>... handlers) {
+            return addStage(sequences, handlers);
+        }
+    }
+}
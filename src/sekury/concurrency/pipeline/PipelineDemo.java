@@ -0,0 +1,62 @@
+package sekury.concurrency.pipeline;
+
+import sekury.concurrency.queues.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+public class PipelineDemo {
+
+    private static final int EVENTS = 1_000_000;
+
+    static class OrderEvent {
+        String line;
+        long id;
+        long quantity;
+        long price;
+        long total;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Pipeline<OrderEvent> pipeline = new Pipeline<>(OrderEvent::new, 1024, WaitStrategy.yielding());
+
+        long[] audited = new long[1];
+        long[] persisted = new long[2]; // count, checksum
+        int[] flushes = new int[1];
+
+        EventHandler<OrderEvent> parse = (event, sequence, endOfBatch) -> {
+            String line = event.line;
+            int first = line.indexOf(',');
+            int second = line.indexOf(',', first + 1);
+            event.id = Long.parseLong(line, 0, first, 10);
+            event.quantity = Long.parseLong(line, first + 1, second, 10);
+            event.price = Long.parseLong(line, second + 1, line.length(), 10);
+        };
+        // runs in parallel with parse, both see every event
+        EventHandler<OrderEvent> audit = (event, sequence, endOfBatch) -> audited[0]++;
+        EventHandler<OrderEvent> enrich = (event, sequence, endOfBatch) -> event.total = event.quantity * event.price;
+        EventHandler<OrderEvent> persist = (event, sequence, endOfBatch) -> {
+            persisted[0]++;
+            persisted[1] += event.total;
+            if (endOfBatch) {
+                flushes[0]++; // one write per batch instead of one per event
+            }
+        };
+
+        pipeline.handleWith(parse, audit).then(enrich).then(persist);
+        pipeline.start();
+
+        String[] lines = new String[64];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = i + "," + (i % 7 + 1) + "," + (i * 10 + 5);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            pipeline.publishEvent((event, line) -> event.line = line, lines[i & 63]);
+        }
+        pipeline.shutdown();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.printf("Audited %d, persisted %d orders (total %d) in %d ms with %d flushes%n",
+                audited[0], persisted[0], persisted[1], elapsed, flushes[0]);
+    }
+}
@@ -0,0 +1,115 @@
+package sekury.concurrency.pipeline;
+
+import sekury.concurrency.queues.PaddedSequence;
+import sekury.concurrency.queues.WaitStrategy;
+
+import java.util.function.BiConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Ring of preallocated, mutable event slots for a single producer. The producer claims the next sequence, fills
+ * the slot in place and publishes it by advancing the cursor. It never overwrites a slot that the last consumers,
+ * the gating sequences, have not processed yet.
+ */
+public class RingBuffer<E> {
+
+    private final Object[] entries;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final PaddedSequence cursor = new PaddedSequence(-1);
+    private volatile PaddedSequence[] gatingSequences = new PaddedSequence[0];
+
+    // producer only
+    private long nextValue = -1;
+    private long cachedGating = -1;
+
+    public RingBuffer(Supplier<E> factory, int size, WaitStrategy waitStrategy) {
+        if (size <= 0 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("size must be a power of two: " + size);
+        }
+        this.entries = new Object[size];
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+        for (int i = 0; i < size; i++) {
+            entries[i] = factory.get();
+        }
+    }
+
+    /**
+     * Claims the next sequence, waiting while the ring is full.
+     */
+    public long next() {
+        long next = nextValue + 1;
+        long wrapPoint = next - entries.length;
+        if (wrapPoint > cachedGating) {
+            int counter = 0;
+            long minimum;
+            while (wrapPoint > (minimum = minimumSequence(gatingSequences, next - 1))) {
+                counter = waitStrategy.idle(counter);
+            }
+            cachedGating = minimum;
+        }
+        nextValue = next;
+        return next;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & mask];
+    }
+
+    /**
+     * Makes the claimed sequence, and every one before it, visible to consumers.
+     */
+    public void publish(long sequence) {
+        cursor.setRelease(sequence);
+    }
+
+    /**
+     * Claims a slot, lets {@code translator} fill it from {@code arg} and publishes it.
+     */
+    public <A> void publishEvent(BiConsumer<? super E, ? super A> translator, A arg) {
+        long sequence = next();
+        try {
+            translator.accept(get(sequence), arg);
+        } finally {
+            publish(sequence);
+        }
+    }
+
+    /**
+     * Same for a primitive argument, which would otherwise be boxed on every event.
+     */
+    public void publishEvent(ObjLongConsumer<? super E> translator, long arg) {
+        long sequence = next();
+        try {
+            translator.accept(get(sequence), arg);
+        } finally {
+            publish(sequence);
+        }
+    }
+
+    public long getCursor() {
+        return cursor.getAcquire();
+    }
+
+    public int getBufferSize() {
+        return entries.length;
+    }
+
+    PaddedSequence cursorSequence() {
+        return cursor;
+    }
+
+    void setGatingSequences(PaddedSequence... sequences) {
+        gatingSequences = sequences.clone();
+    }
+
+    static long minimumSequence(PaddedSequence[] sequences, long minimum) {
+        for (PaddedSequence sequence : sequences) {
+            minimum = Math.min(minimum, sequence.getAcquire());
+        }
+        return minimum;
+    }
+}
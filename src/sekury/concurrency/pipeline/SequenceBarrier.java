@@ -0,0 +1,50 @@
+package sekury.concurrency.pipeline;
+
+import sekury.concurrency.queues.PaddedSequence;
+import sekury.concurrency.queues.WaitStrategy;
+
+/**
+ * What a consumer waits on: the producer cursor and the sequences of the stages it depends on. An event is
+ * available once the producer has published it and every upstream stage has processed it.
+ */
+public class SequenceBarrier {
+
+    private final PaddedSequence cursor;
+    private final PaddedSequence[] dependencies;
+    private final WaitStrategy waitStrategy;
+    private volatile boolean alerted;
+
+    SequenceBarrier(PaddedSequence cursor, PaddedSequence[] dependencies, WaitStrategy waitStrategy) {
+        this.cursor = cursor;
+        this.dependencies = dependencies;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Waits until {@code sequence} is available and returns the highest available sequence, which can be well
+     * beyond it and lets the consumer handle a whole batch. Returns early with a lower value when alerted.
+     */
+    public long waitFor(long sequence) {
+        int counter = 0;
+        long available;
+        while ((available = getAvailable()) < sequence) {
+            if (alerted) {
+                return available;
+            }
+            counter = waitStrategy.idle(counter);
+        }
+        return available;
+    }
+
+    public long getAvailable() {
+        return RingBuffer.minimumSequence(dependencies, cursor.getAcquire());
+    }
+
+    public void alert() {
+        alerted = true;
+    }
+
+    public boolean isAlerted() {
+        return alerted;
+    }
+}
@@ -0,0 +1,182 @@
+package sekury.concurrency.pools;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size pool that tracks free slots in a bitmap updated by CAS.
+ * <p>
+ * A {@link Semaphore} counts free slots, so a thread that holds a permit is guaranteed to find a set bit and
+ * waiting, timeouts and fairness all come from the semaphore. Each thread first tries to reclaim the slot it
+ * released last, which keeps hot objects on the same thread and usually avoids scanning the bitmap.
+ * Objects are created lazily, the first time their slot is borrowed.
+ */
+public class ConcurrentObjectPool<T> implements ObjectPool<T> {
+
+    private static final VarHandle WORD = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final PooledObject<T>[] slots;
+    private final long[] freeBits;
+    private final Supplier<? extends T> factory;
+    private final Semaphore available;
+    private final boolean fair;
+    private final ThreadLocal<int[]> lastReleased = ThreadLocal.withInitial(() -> new int[]{-1});
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public ConcurrentObjectPool(int size, Supplier<? extends T> factory) {
+        this(size, factory, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentObjectPool(int size, Supplier<? extends T> factory, boolean fair) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        this.factory = Objects.requireNonNull(factory);
+        this.fair = fair;
+        this.available = new Semaphore(size, fair);
+        this.slots = new PooledObject[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new PooledObject<>(this, i);
+        }
+        this.freeBits = new long[(size + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            freeBits[i >>> 6] |= 1L << i;
+        }
+        VarHandle.releaseFence();
+    }
+
+    @Override
+    public PooledObject<T> borrow() throws InterruptedException {
+        if (!tryAcquirePermit()) {
+            waits.increment();
+            available.acquire();
+        }
+        return claim();
+    }
+
+    @Override
+    public PooledObject<T> borrow(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!tryAcquirePermit()) {
+            waits.increment();
+            if (!available.tryAcquire(timeout, unit)) {
+                timeouts.increment();
+                return null;
+            }
+        }
+        return claim();
+    }
+
+    @Override
+    public PooledObject<T> tryBorrow() {
+        return tryAcquirePermit() ? claim() : null;
+    }
+
+    @Override
+    public void release(PooledObject<T> object) {
+        if (object.pool != this) {
+            throw new IllegalArgumentException("Object does not belong to this pool: " + object);
+        }
+        int index = object.index;
+        int word = index >>> 6;
+        long bit = 1L << index;
+        long bits;
+        do {
+            bits = (long) WORD.getVolatile(freeBits, word);
+            if ((bits & bit) != 0) {
+                throw new IllegalStateException("Object is not borrowed: " + object);
+            }
+        } while (!WORD.compareAndSet(freeBits, word, bits, bits | bit));
+        lastReleased.get()[0] = index;
+        available.release();
+    }
+
+    @Override
+    public PoolStats stats() {
+        return new PoolStats(slots.length, created.get(), available.availablePermits(),
+                borrows.sum(), waits.sum(), timeouts.sum());
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    private boolean tryAcquirePermit() {
+        if (!fair) {
+            return available.tryAcquire();
+        }
+        // the timed variant honours the fairness setting, the untimed one always barges
+        try {
+            return available.tryAcquire(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Claims a free slot. Must only be called while holding a permit, which guarantees that one exists.
+     */
+    private PooledObject<T> claim() {
+        int[] hint = lastReleased.get();
+        int start;
+        if (hint[0] >= 0) {
+            if (tryClaim(hint[0])) {
+                return borrowed(hint[0]);
+            }
+            start = hint[0] >>> 6;
+        } else {
+            start = ThreadLocalRandom.current().nextInt(freeBits.length);
+        }
+        for (int word = start; ; word = word + 1 == freeBits.length ? 0 : word + 1) {
+            long bits = (long) WORD.getVolatile(freeBits, word);
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                long claimed = bits & ~(1L << bit);
+                if (WORD.compareAndSet(freeBits, word, bits, claimed)) {
+                    return borrowed((word << 6) + bit);
+                }
+                bits = (long) WORD.getVolatile(freeBits, word);
+            }
+        }
+    }
+
+    private boolean tryClaim(int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        long bits = (long) WORD.getVolatile(freeBits, word);
+        while ((bits & bit) != 0) {
+            if (WORD.compareAndSet(freeBits, word, bits, bits & ~bit)) {
+                return true;
+            }
+            bits = (long) WORD.getVolatile(freeBits, word);
+        }
+        return false;
+    }
+
+    private PooledObject<T> borrowed(int index) {
+        PooledObject<T> object = slots[index];
+        if (object.value == null) {
+            try {
+                object.value = Objects.requireNonNull(factory.get(), "factory returned null");
+            } catch (RuntimeException | Error e) {
+                release(object);
+                throw e;
+            }
+            created.incrementAndGet();
+        }
+        borrows.increment();
+        return object;
+    }
+}
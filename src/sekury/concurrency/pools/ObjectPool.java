@@ -0,0 +1,29 @@
+package sekury.concurrency.pools;
+
+import java.util.concurrent.TimeUnit;
+
+public interface ObjectPool<T> {
+
+    /**
+     * Borrows an object, waiting until one is released if the pool is exhausted.
+     */
+    PooledObject<T> borrow() throws InterruptedException;
+
+    /**
+     * Borrows an object, waiting up to the given time.
+     *
+     * @return the borrowed object, or {@code null} if none became available in time
+     */
+    PooledObject<T> borrow(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Borrows an object only if one is available right now.
+     *
+     * @return the borrowed object, or {@code null} if the pool is exhausted
+     */
+    PooledObject<T> tryBorrow();
+
+    void release(PooledObject<T> object);
+
+    PoolStats stats();
+}
@@ -0,0 +1,41 @@
+package sekury.concurrency.pools;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ObjectPoolDemo {
+
+    public static void main(String[] args) throws InterruptedException {
+        AtomicInteger ids = new AtomicInteger();
+        ConcurrentObjectPool<String> pool = new ConcurrentObjectPool<>(5, () -> "Item" + ids.getAndIncrement());
+
+        Runnable runnable = () -> {
+            String threadName = Thread.currentThread().getName();
+            try {
+                System.out.printf("Thread %s trying get item...%n", threadName);
+                PooledObject<String> item = pool.borrow(1, TimeUnit.SECONDS);
+                if (item == null) {
+                    System.out.printf("Thread %s timed out%n", threadName);
+                    return;
+                }
+                try (item) {
+                    System.out.printf("Thread %s got item %s%n", threadName, item.get());
+                    TimeUnit.MILLISECONDS.sleep(new Random().nextInt(2000));
+                    System.out.printf("Thread %s putting item back %s%n", threadName, item.get());
+                }
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        };
+        Thread[] threads = new Thread[10];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(runnable);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println(pool.stats());
+    }
+}
@@ -0,0 +1,67 @@
+package sekury.concurrency.pools;
+
+public final class PoolStats {
+
+    private final int size;
+    private final int created;
+    private final int idle;
+    private final long borrows;
+    private final long waits;
+    private final long timeouts;
+
+    PoolStats(int size, int created, int idle, long borrows, long waits, long timeouts) {
+        this.size = size;
+        this.created = created;
+        this.idle = idle;
+        this.borrows = borrows;
+        this.waits = waits;
+        this.timeouts = timeouts;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getInUse() {
+        return size - idle;
+    }
+
+    public double getOccupancy() {
+        return (double) getInUse() / size;
+    }
+
+    public long getBorrows() {
+        return borrows;
+    }
+
+    /**
+     * Number of borrows that found the pool exhausted and had to wait.
+     */
+    public long getWaits() {
+        return waits;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats{" +
+                "size=" + size +
+                ", created=" + created +
+                ", inUse=" + getInUse() +
+                ", borrows=" + borrows +
+                ", waits=" + waits +
+                ", timeouts=" + timeouts +
+                '}';
+    }
+}
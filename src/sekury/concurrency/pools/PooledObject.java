@@ -0,0 +1,37 @@
+package sekury.concurrency.pools;
+
+/**
+ * A pool slot handed out by {@link ObjectPool#borrow()}. Slots are preallocated, so borrowing does not allocate,
+ * and the slot knows its own index, so releasing it does not search the pool.
+ */
+public final class PooledObject<T> implements AutoCloseable {
+
+    final ObjectPool<T> pool;
+    final int index;
+    T value;
+
+    PooledObject(ObjectPool<T> pool, int index) {
+        this.pool = pool;
+        this.index = index;
+    }
+
+    public T get() {
+        return value;
+    }
+
+    /**
+     * Returns this object to its pool.
+     */
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+
+    @Override
+    public String toString() {
+        return "PooledObject{" +
+                "index=" + index +
+                ", value=" + value +
+                '}';
+    }
+}
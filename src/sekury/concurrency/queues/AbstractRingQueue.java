@@ -0,0 +1,102 @@
+package sekury.concurrency.queues;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+abstract class AbstractRingQueue<E> implements BoundedQueue<E> {
+
+    static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    final Object[] buffer;
+    final int mask;
+    final WaitStrategy waitStrategy;
+
+    final PaddedSequence head = new PaddedSequence();
+    final PaddedSequence tail = new PaddedSequence();
+
+    AbstractRingQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be in [2, 2^30]: " + capacity);
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy);
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        int idle = 0;
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idle = waitStrategy.idle(idle);
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        int idle = 0;
+        E e;
+        while ((e = poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idle = waitStrategy.idle(idle);
+        }
+        return e;
+    }
+
+    @Override
+    public int offerBatch(E[] items, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, items.length);
+        int n = 0;
+        while (n < length && offer(items[offset + n])) {
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public int drain(Consumer<? super E> consumer, int limit) {
+        int n = 0;
+        E e;
+        while (n < limit && (e = poll()) != null) {
+            consumer.accept(e);
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        while (true) {
+            long h = head.get();
+            long t = tail.get();
+            if (h == head.get()) {
+                return (int) Math.max(0, Math.min(t - h, buffer.length));
+            }
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return buffer.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    final E elementAt(int index) {
+        return (E) buffer[index];
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{size=" + size() + ", capacity=" + capacity() + '}';
+    }
+}
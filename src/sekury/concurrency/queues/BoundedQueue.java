@@ -0,0 +1,53 @@
+package sekury.concurrency.queues;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+public interface BoundedQueue<E> {
+
+    /**
+     * Inserts the element if there is room, returns {@code false} otherwise.
+     */
+    boolean offer(E e);
+
+    /**
+     * Removes the head element, returns {@code null} when the queue is empty.
+     */
+    E poll();
+
+    /**
+     * Inserts the element, waiting according to the queue's {@link WaitStrategy} while it is full.
+     */
+    void put(E e) throws InterruptedException;
+
+    /**
+     * Removes the head element, waiting according to the queue's {@link WaitStrategy} while it is empty.
+     */
+    E take() throws InterruptedException;
+
+    /**
+     * Inserts as many of {@code items[offset, offset + length)} as currently fit.
+     *
+     * @return the number of inserted elements
+     */
+    int offerBatch(E[] items, int offset, int length);
+
+    /**
+     * Removes up to {@code limit} available elements and passes them to {@code consumer}.
+     *
+     * @return the number of removed elements
+     */
+    int drain(Consumer<? super E> consumer, int limit);
+
+    default int drainTo(Collection<? super E> collection, int limit) {
+        return drain(collection::add, limit);
+    }
+
+    int size();
+
+    int capacity();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
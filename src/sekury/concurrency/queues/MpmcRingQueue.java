@@ -0,0 +1,73 @@
+package sekury.concurrency.queues;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * Multi-producer multi-consumer ring with a sequence counter per slot (Vyukov's bounded queue).
+ * A slot whose sequence equals the claimed index is free for a producer, a slot whose sequence is one ahead
+ * of it holds an element for a consumer.
+ */
+public class MpmcRingQueue<E> extends AbstractRingQueue<E> {
+
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] sequences;
+
+    public MpmcRingQueue(int capacity) {
+        this(capacity, WaitStrategy.yielding());
+    }
+
+    public MpmcRingQueue(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+        this.sequences = new long[buffer.length];
+        for (int i = 0; i < sequences.length; i++) {
+            SEQUENCE.setRelease(sequences, i, (long) i);
+        }
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        long t = tail.get();
+        while (true) {
+            int index = (int) t & mask;
+            long diff = (long) SEQUENCE.getAcquire(sequences, index) - t;
+            if (diff == 0) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    buffer[index] = e;
+                    SEQUENCE.setRelease(sequences, index, t + 1);
+                    return true;
+                }
+                t = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                t = tail.get();
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        long h = head.get();
+        while (true) {
+            int index = (int) h & mask;
+            long diff = (long) SEQUENCE.getAcquire(sequences, index) - (h + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(h, h + 1)) {
+                    E e = elementAt(index);
+                    buffer[index] = null;
+                    SEQUENCE.setRelease(sequences, index, h + buffer.length);
+                    return e;
+                }
+                h = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                h = head.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package sekury.concurrency.queues;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Multi-producer single-consumer ring. Producers claim slots by CAS on the tail index and publish the element
+ * into the slot with a release store; the consumer treats a {@code null} slot as not yet published.
+ */
+public class MpscRingQueue<E> extends AbstractRingQueue<E> {
+
+    /**
+     * Highest tail value producers may claim without re-reading the consumer index.
+     */
+    private final PaddedSequence producerLimit;
+
+    public MpscRingQueue(int capacity) {
+        this(capacity, WaitStrategy.yielding());
+    }
+
+    public MpscRingQueue(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+        this.producerLimit = new PaddedSequence(buffer.length);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        long t;
+        do {
+            t = tail.get();
+            if (t >= producerLimit.get() && !refreshLimit(t + 1)) {
+                return false;
+            }
+        } while (!tail.compareAndSet(t, t + 1));
+        ELEMENT.setRelease(buffer, (int) t & mask, e);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        long h = head.getPlain();
+        int index = (int) h & mask;
+        Object e = ELEMENT.getAcquire(buffer, index);
+        if (e == null) {
+            if (h == tail.get()) {
+                return null;
+            }
+            // the slot is claimed, wait for the producer to publish it
+            do {
+                Thread.onSpinWait();
+                e = ELEMENT.getAcquire(buffer, index);
+            } while (e == null);
+        }
+        buffer[index] = null;
+        head.setRelease(h + 1);
+        @SuppressWarnings("unchecked")
+        E element = (E) e;
+        return element;
+    }
+
+    @Override
+    public int offerBatch(E[] items, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, items.length);
+        for (int i = offset; i < offset + length; i++) {
+            Objects.requireNonNull(items[i]);
+        }
+        long t;
+        int n;
+        do {
+            t = tail.get();
+            long limit = producerLimit.get();
+            if (limit - t < length) {
+                refreshLimit(t + length);
+                limit = producerLimit.get();
+            }
+            n = (int) Math.min(limit - t, length);
+            if (n <= 0) {
+                return 0;
+            }
+        } while (!tail.compareAndSet(t, t + n));
+        for (int i = 0; i < n; i++) {
+            ELEMENT.setRelease(buffer, (int) (t + i) & mask, items[offset + i]);
+        }
+        return n;
+    }
+
+    @Override
+    public int drain(Consumer<? super E> consumer, int limit) {
+        long h = head.getPlain();
+        int n = 0;
+        try {
+            while (n < limit) {
+                int index = (int) (h + n) & mask;
+                Object e = ELEMENT.getAcquire(buffer, index);
+                if (e == null) {
+                    break;
+                }
+                buffer[index] = null;
+                n++;
+                @SuppressWarnings("unchecked")
+                E element = (E) e;
+                consumer.accept(element);
+            }
+        } finally {
+            head.setRelease(h + n);
+        }
+        return n;
+    }
+
+    /**
+     * Re-reads the consumer index and raises the producer limit.
+     *
+     * @return whether the limit now allows claiming up to {@code wanted}
+     */
+    private boolean refreshLimit(long wanted) {
+        long limit = head.getAcquire() + buffer.length;
+        long current = producerLimit.get();
+        if (limit > current) {
+            producerLimit.compareAndSet(current, limit);
+        }
+        return wanted <= limit;
+    }
+}
@@ -0,0 +1,72 @@
+package sekury.concurrency.queues;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A {@code long} index padded to its own cache line, so that a producer index and a consumer index
+ * written by different threads never share a line.
+ */
+public class PaddedSequence extends PaddedSequenceValue {
+
+    long p11, p12, p13, p14, p15, p16, p17;
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(PaddedSequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public PaddedSequence() {
+        this(0);
+    }
+
+    public PaddedSequence(long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    public long get() {
+        return value;
+    }
+
+    public long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    public long getAcquire() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    public void set(long newValue) {
+        value = newValue;
+    }
+
+    public void setRelease(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    public boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+
+    public long getAndAdd(long delta) {
+        return (long) VALUE.getAndAdd(this, delta);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
+
+class PaddedSequenceLhs {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+class PaddedSequenceValue extends PaddedSequenceLhs {
+    volatile long value;
+}
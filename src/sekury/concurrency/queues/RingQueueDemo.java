@@ -0,0 +1,69 @@
+package sekury.concurrency.queues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class RingQueueDemo {
+
+    private static final int ITEMS = 1_000_000;
+    private static final int BATCH = 256;
+
+    public static void main(String[] args) throws InterruptedException {
+        run(new SpscRingQueue<>(1024, WaitStrategy.yielding()));
+        run(new MpscRingQueue<>(1024, WaitStrategy.yielding()));
+        run(new MpmcRingQueue<>(1024, WaitStrategy.parking(1000)));
+    }
+
+    private static void run(BoundedQueue<Integer> queue) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        long start = System.nanoTime();
+        executor.execute(() -> {
+            Integer[] batch = new Integer[BATCH];
+            try {
+                for (int i = 0; i < ITEMS; ) {
+                    int length = Math.min(BATCH, ITEMS - i);
+                    for (int j = 0; j < length; j++) {
+                        batch[j] = i + j;
+                    }
+                    int offered = 0;
+                    while (offered < length) {
+                        offered += queue.offerBatch(batch, offered, length - offered);
+                        if (offered < length) {
+                            queue.put(batch[offered++]);
+                        }
+                    }
+                    i += length;
+                }
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        });
+        executor.execute(() -> {
+            List<Integer> drained = new ArrayList<>(BATCH);
+            long sum = 0;
+            int received = 0;
+            try {
+                while (received < ITEMS) {
+                    drained.clear();
+                    if (queue.drainTo(drained, BATCH) == 0) {
+                        drained.add(queue.take());
+                    }
+                    for (Integer item : drained) {
+                        sum += item;
+                    }
+                    received += drained.size();
+                }
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            System.out.printf("%s moved %d items (sum %d) in %d ms%n",
+                    queue.getClass().getSimpleName(), received, sum, elapsed);
+        });
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
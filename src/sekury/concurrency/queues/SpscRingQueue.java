@@ -0,0 +1,94 @@
+package sekury.concurrency.queues;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Single-producer single-consumer ring. Each side owns one index and keeps a cached copy of the other side's
+ * index, so it only reads the shared line when the cached value says the queue is full (or empty).
+ */
+public class SpscRingQueue<E> extends AbstractRingQueue<E> {
+
+    private long headCache;
+    private long tailCache;
+
+    public SpscRingQueue(int capacity) {
+        this(capacity, WaitStrategy.yielding());
+    }
+
+    public SpscRingQueue(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        long t = tail.getPlain();
+        if (t - headCache >= buffer.length) {
+            headCache = head.getAcquire();
+            if (t - headCache >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = e;
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        long h = head.getPlain();
+        if (h >= tailCache) {
+            tailCache = tail.getAcquire();
+            if (h >= tailCache) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        E e = elementAt(index);
+        buffer[index] = null;
+        head.setRelease(h + 1);
+        return e;
+    }
+
+    @Override
+    public int offerBatch(E[] items, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, items.length);
+        long t = tail.getPlain();
+        long free = buffer.length - (t - headCache);
+        if (free < length) {
+            headCache = head.getAcquire();
+            free = buffer.length - (t - headCache);
+        }
+        int n = (int) Math.min(free, length);
+        for (int i = 0; i < n; i++) {
+            buffer[(int) (t + i) & mask] = Objects.requireNonNull(items[offset + i]);
+        }
+        tail.setRelease(t + n);
+        return n;
+    }
+
+    @Override
+    public int drain(Consumer<? super E> consumer, int limit) {
+        long h = head.getPlain();
+        long available = tailCache - h;
+        if (available < limit) {
+            tailCache = tail.getAcquire();
+            available = tailCache - h;
+        }
+        int n = (int) Math.min(available, limit);
+        int i = 0;
+        try {
+            while (i < n) {
+                int index = (int) (h + i) & mask;
+                E e = elementAt(index);
+                buffer[index] = null;
+                i++;
+                consumer.accept(e);
+            }
+        } finally {
+            head.setRelease(h + i);
+        }
+        return n;
+    }
+}
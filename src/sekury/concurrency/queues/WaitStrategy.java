@@ -0,0 +1,52 @@
+package sekury.concurrency.queues;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides what a thread does while it waits for a queue to make progress.
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+    int SPIN_TRIES = 100;
+    int YIELD_TRIES = 100;
+
+    /**
+     * Called every time a waiting thread finds no progress.
+     *
+     * @param counter the value returned by the previous call, 0 for the first one
+     * @return the counter to pass to the next call
+     */
+    int idle(int counter);
+
+    static WaitStrategy busySpin() {
+        return counter -> {
+            Thread.onSpinWait();
+            return counter + 1;
+        };
+    }
+
+    static WaitStrategy yielding() {
+        return counter -> {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            return counter + 1;
+        };
+    }
+
+    static WaitStrategy parking(long parkNanos) {
+        return counter -> {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (counter < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+            }
+            return counter + 1;
+        };
+    }
+}
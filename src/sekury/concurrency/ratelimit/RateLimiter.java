@@ -0,0 +1,31 @@
+package sekury.concurrency.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out permits at a fixed rate, allowing bursts up to a capacity after idle periods.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes {@code permits} if they are available right now.
+     */
+    boolean tryAcquire(int permits);
+
+    /**
+     * Takes {@code permits}, waiting for them at most {@code timeout}.
+     */
+    boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException;
+
+    long availablePermits();
+
+    default boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    default void acquire(int permits) throws InterruptedException {
+        while (!tryAcquire(permits, Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+            // an implementation may give up on very long waits
+        }
+    }
+}
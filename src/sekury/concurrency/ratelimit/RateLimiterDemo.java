@@ -0,0 +1,51 @@
+package sekury.concurrency.ratelimit;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class RateLimiterDemo {
+
+    private static final double RATE = 10_000;
+    private static final int BURST = 100;
+    private static final int THREADS = 4;
+    private static final long MILLIS = 1_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        measure("TokenBucket", new TokenBucket(RATE, BURST));
+        measure("StripedTokenBucket", new StripedTokenBucket(RATE, BURST));
+        try (SemaphoreRateLimiter limiter = new SemaphoreRateLimiter(RATE, BURST, 10, TimeUnit.MILLISECONDS)) {
+            measure("SemaphoreRateLimiter", limiter);
+        }
+
+        TokenBucket bucket = new TokenBucket(10, 1);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            bucket.acquire(1);
+            System.out.printf("Acquired permit %d after %d ms%n", i, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static void measure(String name, RateLimiter limiter) throws InterruptedException {
+        LongAdder accepted = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MILLIS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    if (limiter.tryAcquire()) {
+                        accepted.increment();
+                    } else {
+                        rejected.increment();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        System.out.printf("%s: accepted %d (limit %.0f + burst %d), rejected %d%n",
+                name, accepted.sum(), RATE * MILLIS / 1000, BURST, rejected.sum());
+    }
+}
@@ -0,0 +1,66 @@
+package sekury.concurrency.ratelimit;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The classic approach: a {@link Semaphore} holding the burst capacity, topped up by a scheduled task every refill
+ * period. Simple, but the rate is only enforced per period, permits arrive in steps, and every limiter needs a
+ * timer.
+ */
+public class SemaphoreRateLimiter implements RateLimiter, AutoCloseable {
+
+    private final Semaphore semaphore;
+    private final int burst;
+    private final double permitsPerPeriod;
+    private final ScheduledExecutorService refiller;
+    private double carry;
+
+    public SemaphoreRateLimiter(double permitsPerSecond, int burst, long refillPeriod, TimeUnit unit) {
+        if (!(permitsPerSecond > 0) || burst <= 0 || refillPeriod <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond=" + permitsPerSecond + ", burst=" + burst
+                    + ", refillPeriod=" + refillPeriod);
+        }
+        this.semaphore = new Semaphore(burst);
+        this.burst = burst;
+        this.permitsPerPeriod = permitsPerSecond * unit.toNanos(refillPeriod) / 1e9;
+        this.refiller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rate-limiter-refill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refiller.scheduleAtFixedRate(this::refill, refillPeriod, refillPeriod, unit);
+    }
+
+    @Override
+    public boolean tryAcquire(int permits) {
+        return semaphore.tryAcquire(permits);
+    }
+
+    @Override
+    public boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        return semaphore.tryAcquire(permits, timeout, unit);
+    }
+
+    @Override
+    public long availablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        refiller.shutdownNow();
+    }
+
+    private void refill() {
+        carry += permitsPerPeriod;
+        int permits = (int) carry;
+        carry -= permits;
+        int missing = burst - semaphore.availablePermits();
+        if (missing > 0 && permits > 0) {
+            semaphore.release(Math.min(missing, permits));
+        }
+    }
+}
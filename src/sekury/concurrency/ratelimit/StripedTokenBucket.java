@@ -0,0 +1,89 @@
+package sekury.concurrency.ratelimit;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits the rate and the burst capacity over several {@link TokenBucket}s, so that threads calling at very high
+ * rates update different cache lines. Each thread hashes to a stripe through its own probe and, when its stripe is
+ * empty, tries a few others before giving up.
+ * <p>
+ * The total rate is never exceeded, but a request can be rejected while tokens are left in stripes it did not try,
+ * so under skewed load the accepted rate may stay somewhat below the limit. Each stripe holds at least one token,
+ * and a single request can take at most the burst capacity of one stripe.
+ */
+public class StripedTokenBucket implements RateLimiter {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final TokenBucket[] stripes;
+    private final int mask;
+    private final ThreadLocal<Probe> probes = ThreadLocal.withInitial(Probe::new);
+
+    public StripedTokenBucket(double permitsPerSecond, long burst) {
+        this(permitsPerSecond, burst, Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedTokenBucket(double permitsPerSecond, long burst, int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new TokenBucket[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new TokenBucket(permitsPerSecond / size, Math.max(1, burst / size));
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(int permits) {
+        Probe probe = probes.get();
+        int h = probe.hash;
+        for (int attempt = 0; attempt < Math.min(MAX_ATTEMPTS, stripes.length); attempt++) {
+            if (stripes[h & mask].tryAcquire(permits)) {
+                probe.hash = h;
+                return true;
+            }
+            h = rehash(h);
+        }
+        probe.hash = h;
+        return false;
+    }
+
+    /**
+     * Tries a few stripes without waiting, then waits on the stripe of the current thread.
+     */
+    @Override
+    public boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        return tryAcquire(permits) || stripes[probes.get().hash & mask].tryAcquire(permits, timeout, unit);
+    }
+
+    @Override
+    public long availablePermits() {
+        long available = 0;
+        for (TokenBucket stripe : stripes) {
+            available += stripe.availablePermits();
+        }
+        return available;
+    }
+
+    public int stripes() {
+        return stripes.length;
+    }
+
+    private static int rehash(int h) {
+        // xorshift, as used by Striped64
+        h ^= h << 13;
+        h ^= h >>> 17;
+        h ^= h << 5;
+        return h;
+    }
+
+    private static final class Probe {
+        int hash = ThreadLocalRandom.current().nextInt() | 1;
+    }
+}
@@ -0,0 +1,128 @@
+package sekury.concurrency.ratelimit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket kept in a single CAS-updated word: the time at which the bucket would have been empty. The tokens
+ * available now are the time passed since then divided by the time it takes to refill one token, capped at the
+ * burst capacity. Refilling is therefore lazy and needs no background thread, and a rejected
+ * {@link #tryAcquire(int)} only reads the word.
+ * <p>
+ * A timed acquire reserves its tokens in advance and then sleeps until they are due, so later callers queue behind
+ * it in time. Rates above one permit per nanosecond are not supported, and the refill interval is rounded to whole
+ * nanoseconds.
+ */
+public class TokenBucket extends TokenBucketState implements RateLimiter {
+
+    long p11, p12, p13, p14, p15, p16, p17;
+
+    private static final VarHandle EMPTY_AT;
+
+    static {
+        try {
+            EMPTY_AT = MethodHandles.lookup().findVarHandle(TokenBucketState.class, "emptyAt", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long intervalNanos;
+    private final long burst;
+    private final long capacityNanos;
+    private final long origin = System.nanoTime();
+
+    public TokenBucket(double permitsPerSecond, long burst) {
+        if (!(permitsPerSecond > 0) || permitsPerSecond > 1e9 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond=" + permitsPerSecond + ", burst=" + burst);
+        }
+        this.intervalNanos = Math.max(1, Math.round(1e9 / permitsPerSecond));
+        this.burst = burst;
+        this.capacityNanos = Math.multiplyExact(burst, intervalNanos);
+        this.emptyAt = -capacityNanos; // start full
+    }
+
+    @Override
+    public boolean tryAcquire(int permits) {
+        long cost = cost(permits);
+        while (true) {
+            long now = now();
+            long current = emptyAt;
+            long next = Math.max(current, now - capacityNanos) + cost;
+            if (next > now) {
+                return false;
+            }
+            if (EMPTY_AT.compareAndSet(this, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        long cost = cost(permits);
+        long timeoutNanos = unit.toNanos(timeout);
+        long now;
+        long next;
+        while (true) {
+            now = now();
+            long current = emptyAt;
+            next = Math.max(current, now - capacityNanos) + cost;
+            if (next - now > timeoutNanos) {
+                return false;
+            }
+            if (EMPTY_AT.compareAndSet(this, current, next)) {
+                break;
+            }
+        }
+        try {
+            for (long wait = next - now; wait > 0; wait = next - now()) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        } catch (InterruptedException e) {
+            // give the reservation back, unless somebody has reserved after us
+            EMPTY_AT.compareAndSet(this, next, next - cost);
+            throw e;
+        }
+        return true;
+    }
+
+    @Override
+    public long availablePermits() {
+        long available = (now() - emptyAt) / intervalNanos;
+        return Math.max(0, Math.min(burst, available));
+    }
+
+    public double getRate() {
+        return 1e9 / intervalNanos;
+    }
+
+    public long getBurst() {
+        return burst;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TokenBucket[rate=%.1f/s, burst=%d, available=%d]", getRate(), burst, availablePermits());
+    }
+
+    private long cost(int permits) {
+        if (permits <= 0 || permits > burst) {
+            throw new IllegalArgumentException("permits must be between 1 and " + burst + ": " + permits);
+        }
+        return permits * intervalNanos;
+    }
+
+    private long now() {
+        return System.nanoTime() - origin;
+    }
+}
+
+class TokenBucketLhs {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+class TokenBucketState extends TokenBucketLhs {
+    volatile long emptyAt;
+}
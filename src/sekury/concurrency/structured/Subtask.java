@@ -0,0 +1,110 @@
+package sekury.concurrency.structured;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * A task forked in a {@link TaskScope}. Its result can be read once the scope has been joined.
+ */
+public final class Subtask<T> implements Supplier<T> {
+
+    public enum State {
+        /**
+         * Still running, or cancelled when the scope shut down.
+         */
+        UNAVAILABLE,
+        SUCCESS,
+        FAILED
+    }
+
+    final Task task;
+
+    Subtask(TaskScope<T> scope, Callable<? extends T> callable) {
+        this.task = new Task(scope, callable);
+    }
+
+    public State state() {
+        if (!task.isDone() || task.isCancelled()) {
+            return State.UNAVAILABLE;
+        }
+        try {
+            task.get();
+            return State.SUCCESS;
+        } catch (ExecutionException e) {
+            return State.FAILED;
+        } catch (InterruptedException e) {
+            throw new AssertionError(e); // done tasks do not wait
+        }
+    }
+
+    /**
+     * Returns the result of a successful subtask.
+     *
+     * @throws IllegalStateException if the subtask did not succeed
+     */
+    @Override
+    public T get() {
+        if (state() != State.SUCCESS) {
+            throw new IllegalStateException("Subtask " + state());
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Returns the exception of a failed subtask.
+     *
+     * @throws IllegalStateException if the subtask did not fail
+     */
+    public Throwable exception() {
+        if (state() != State.FAILED) {
+            throw new IllegalStateException("Subtask " + state());
+        }
+        try {
+            task.get();
+            throw new AssertionError();
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Subtask[" + state() + "]";
+    }
+
+    final class Task extends FutureTask<T> {
+        private final TaskScope<T> scope;
+
+        @SuppressWarnings("unchecked")
+        Task(TaskScope<T> scope, Callable<? extends T> callable) {
+            super((Callable<T>) callable);
+            this.scope = scope;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                scope.exited();
+            }
+        }
+
+        @Override
+        protected void done() {
+            scope.completed(Subtask.this);
+        }
+
+        void fail(Throwable t) {
+            setException(t);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package sekury.concurrency.structured;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs subtasks forked by one owner thread on an executor, and makes sure none of them outlives the scope.
+ * <p>
+ * The owner forks subtasks, then calls {@link #join()} to wait until all of them finish, the scope shuts down, or
+ * the shared deadline passes. Shutting down cancels and interrupts every unfinished subtask;
+ * {@link ShutdownOnFailure} does so on the first failure and {@link ShutdownOnSuccess} on the first success.
+ * {@link #close()} shuts the scope down and waits until every subtask has left its thread, so that no work leaks
+ * past the end of a try-with-resources block.
+ */
+public abstract class TaskScope<T> implements AutoCloseable {
+
+    private final Executor executor;
+    private final long deadline;
+    private final Thread owner = Thread.currentThread();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // guarded by lock
+    private final List<Subtask<T>> subtasks = new ArrayList<>();
+    private int unfinished;
+    private int running;
+
+    private volatile boolean shutdown;
+    private boolean joined;
+    private boolean closed;
+
+    /**
+     * @param timeout time from now by which all subtasks must be done, or null for no deadline
+     */
+    protected TaskScope(Executor executor, Duration timeout) {
+        this.executor = executor;
+        this.deadline = timeout == null ? Long.MAX_VALUE : System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * Called on the thread that completed the subtask, which can be a thread cancelling it.
+     */
+    protected abstract void handleComplete(Subtask<T> subtask);
+
+    public Subtask<T> fork(Callable<? extends T> task) {
+        checkOwner();
+        if (closed) {
+            throw new IllegalStateException("Scope is closed");
+        }
+        Subtask<T> subtask = new Subtask<>(this, task);
+        boolean submit;
+        lock.lock();
+        try {
+            subtasks.add(subtask);
+            unfinished++;
+            submit = !shutdown;
+            if (submit) {
+                running++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!submit) {
+            subtask.task.cancel(false);
+            return subtask;
+        }
+        try {
+            executor.execute(subtask.task);
+        } catch (RejectedExecutionException e) {
+            subtask.task.fail(e);
+            exited();
+        }
+        return subtask;
+    }
+
+    /**
+     * Waits until all subtasks are done or the scope shuts down.
+     *
+     * @throws TimeoutException if the deadline passed first; the scope is shut down then
+     */
+    public TaskScope<T> join() throws InterruptedException, TimeoutException {
+        checkOwner();
+        lock.lock();
+        try {
+            while (!shutdown && unfinished > 0) {
+                long nanos = deadline - System.nanoTime();
+                if (nanos <= 0) {
+                    break;
+                }
+                changed.awaitNanos(nanos);
+            }
+            joined = true;
+            if (shutdown || unfinished == 0) {
+                return this;
+            }
+        } finally {
+            lock.unlock();
+        }
+        shutdown();
+        throw new TimeoutException("Deadline passed with unfinished subtasks");
+    }
+
+    /**
+     * Cancels all unfinished subtasks, interrupting those that run, and refuses new ones. Can be called by any
+     * thread, including the subtasks.
+     */
+    public void shutdown() {
+        List<Subtask<T>> cancelled;
+        lock.lock();
+        try {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            cancelled = new ArrayList<>(subtasks);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Subtask<T> subtask : cancelled) {
+            subtask.task.cancel(true);
+        }
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Time left until the deadline, for passing on to calls made by the subtasks.
+     */
+    public Duration remaining() {
+        return deadline == Long.MAX_VALUE ? null : Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+    }
+
+    /**
+     * Shuts the scope down and waits until every subtask has returned from its thread.
+     */
+    @Override
+    public void close() {
+        checkOwner();
+        if (closed) {
+            return;
+        }
+        shutdown();
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            while (running > 0) {
+                try {
+                    changed.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected List<Subtask<T>> subtasks() {
+        lock.lock();
+        try {
+            return new ArrayList<>(subtasks);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    protected void checkJoined() {
+        checkOwner();
+        if (!joined) {
+            throw new IllegalStateException("Scope not joined");
+        }
+    }
+
+    void completed(Subtask<T> subtask) {
+        handleComplete(subtask);
+        lock.lock();
+        try {
+            unfinished--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void exited() {
+        lock.lock();
+        try {
+            running--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Only the owner thread " + owner.getName() + " may use this scope");
+        }
+    }
+
+    /**
+     * Shuts down on the first failed subtask. After {@link #join()}, {@link #results()} returns the result of
+     * every subtask in fork order or throws the first failure.
+     */
+    public static class ShutdownOnFailure<T> extends TaskScope<T> {
+
+        private volatile Throwable failure;
+
+        public ShutdownOnFailure(Executor executor, Duration timeout) {
+            super(executor, timeout);
+        }
+
+        @Override
+        protected void handleComplete(Subtask<T> subtask) {
+            if (subtask.state() == Subtask.State.FAILED) {
+                synchronized (this) {
+                    if (failure == null) {
+                        failure = subtask.exception();
+                    }
+                }
+                shutdown();
+            }
+        }
+
+        public void throwIfFailed() throws ExecutionException {
+            checkJoined();
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+        }
+
+        public List<T> results() throws ExecutionException {
+            throwIfFailed();
+            List<T> results = new ArrayList<>();
+            for (Subtask<T> subtask : subtasks()) {
+                results.add(subtask.get());
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Shuts down on the first successful subtask. After {@link #join()}, {@link #result()} returns its result, or
+     * throws the first failure if no subtask succeeded.
+     */
+    public static class ShutdownOnSuccess<T> extends TaskScope<T> {
+
+        private volatile Subtask<T> success;
+        private volatile Throwable failure;
+
+        public ShutdownOnSuccess(Executor executor, Duration timeout) {
+            super(executor, timeout);
+        }
+
+        @Override
+        protected void handleComplete(Subtask<T> subtask) {
+            Subtask.State state = subtask.state();
+            if (state == Subtask.State.SUCCESS) {
+                synchronized (this) {
+                    if (success == null) {
+                        success = subtask;
+                    }
+                }
+                shutdown();
+            } else if (state == Subtask.State.FAILED) {
+                synchronized (this) {
+                    if (failure == null) {
+                        failure = subtask.exception();
+                    }
+                }
+            }
+        }
+
+        public T result() throws ExecutionException {
+            checkJoined();
+            if (success != null) {
+                return success.get();
+            }
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            throw new IllegalStateException("No subtask completed");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package sekury.concurrency.structured;
+
+import sekury.concurrency.threads.ThreadMode;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class TaskScopeDemo {
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executor = ThreadMode.current().newExecutor(8);
+        long start = System.nanoTime();
+
+        // fan-out: the failing call cancels its slow sibling instead of waiting for it
+        try (TaskScope.ShutdownOnFailure<String> scope = new TaskScope.ShutdownOnFailure<>(executor, null)) {
+            scope.fork(() -> call("user", 50));
+            scope.fork(() -> call("orders", 2000));
+            scope.fork(() -> {
+                TimeUnit.MILLISECONDS.sleep(100);
+                throw new IllegalStateException("inventory unavailable");
+            });
+            scope.join();
+            System.out.println("Results: " + scope.results());
+        } catch (ExecutionException | TimeoutException e) {
+            System.out.printf("Fan-out failed after %d ms: %s%n", elapsed(start), e.getCause());
+        }
+
+        // hedged request: the fastest replica wins, the others are cancelled
+        start = System.nanoTime();
+        try (TaskScope.ShutdownOnSuccess<String> scope = new TaskScope.ShutdownOnSuccess<>(executor, null)) {
+            scope.fork(() -> call("replica-1", 300));
+            scope.fork(() -> call("replica-2", 80));
+            scope.fork(() -> call("replica-3", 1000));
+            scope.join();
+            System.out.printf("Hedged result after %d ms: %s%n", elapsed(start), scope.result());
+        } catch (ExecutionException | TimeoutException e) {
+            System.out.println("Hedged request failed: " + e);
+        }
+
+        // shared deadline: nothing outlives the scope
+        start = System.nanoTime();
+        try (TaskScope.ShutdownOnFailure<String> scope =
+                     new TaskScope.ShutdownOnFailure<>(executor, Duration.ofMillis(150))) {
+            scope.fork(() -> call("fast", 50));
+            scope.fork(() -> call("slow", 5000));
+            scope.join();
+            System.out.println("Results: " + scope.results());
+        } catch (ExecutionException | TimeoutException e) {
+            System.out.printf("Deadline hit after %d ms: %s%n", elapsed(start), e);
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private static String call(String service, long millis) throws InterruptedException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+            return service;
+        } catch (InterruptedException e) {
+            System.out.println("Cancelled " + service);
+            throw e;
+        }
+    }
+
+    private static long elapsed(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,84 @@
+package sekury.concurrency.synchronizers;
+
+import sekury.concurrency.queues.WaitStrategy;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * Flags and per-party words shared by the spinning barriers. Every per-party word sits on its own cache line.
+ */
+abstract class AbstractSpinBarrier implements SpinBarrier {
+
+    /**
+     * Ints per cache line, used to keep words of different parties apart.
+     */
+    static final int STRIDE = 16;
+
+    private static final VarHandle FLAG = MethodHandles.arrayElementVarHandle(int[].class);
+
+    final int parties;
+    final WaitStrategy waitStrategy;
+    final Runnable action;
+    private final int[] local;
+
+    AbstractSpinBarrier(int parties, WaitStrategy waitStrategy, Runnable action) {
+        if (parties <= 0) {
+            throw new IllegalArgumentException("parties must be positive: " + parties);
+        }
+        this.parties = parties;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy);
+        this.action = action;
+        this.local = new int[(parties + 1) * STRIDE];
+    }
+
+    @Override
+    public int getParties() {
+        return parties;
+    }
+
+    void checkParty(int party) {
+        if (party < 0 || party >= parties) {
+            throw new IllegalArgumentException("party must be in [0, " + parties + "): " + party);
+        }
+    }
+
+    /**
+     * Flips the sense of the party, which is only ever read and written by the party itself.
+     */
+    int flipSense(int party) {
+        int index = (party + 1) * STRIDE;
+        int sense = local[index] ^ 1;
+        local[index] = sense;
+        return sense;
+    }
+
+    int localWord(int party, int offset) {
+        return local[(party + 1) * STRIDE + offset];
+    }
+
+    void setLocalWord(int party, int offset, int value) {
+        local[(party + 1) * STRIDE + offset] = value;
+    }
+
+    static void signal(int[] flags, int index, int value) {
+        FLAG.setRelease(flags, index, value);
+    }
+
+    void waitFor(int[] flags, int index, int expected) throws InterruptedException {
+        int idle = 0;
+        while ((int) FLAG.getAcquire(flags, index) != expected) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idle = waitStrategy.idle(idle);
+        }
+    }
+
+    void runAction() {
+        if (action != null) {
+            action.run();
+        }
+    }
+}
@@ -1,50 +1,65 @@
 package sekury.concurrency.synchronizers;
 
+import sekury.concurrency.logging.AsyncLogger;
+import sekury.concurrency.threads.ThreadMode;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public class CountDownLatchDemo {
 
-    public static void main(String[] args) {
+    // threads only record an event, formatting and printing happen on the logger thread
+    private static final AsyncLogger LOG = new AsyncLogger(Channels.newChannel(System.out), 1024);
+    private static final int ENTERED = LOG.template("entered");
+    private static final int IN_PROGRESS = LOG.template("in progress...");
+    private static final int DONE = LOG.template("done");
+    private static final int MAIN = LOG.template("main thread");
+    private static final int SIGNAL_START = LOG.template("signal start");
+    private static final int ALL_DONE = LOG.template("all threads done");
+
+    public static void main(String[] args) throws IOException {
         final int numberOfThreads = 3;
         final CountDownLatch startSignal = new CountDownLatch(1);
         final CountDownLatch doneSignal = new CountDownLatch(numberOfThreads);
 
         Runnable runnable = () -> {
             try {
-                printThreadInfo("entered");
+                printThreadInfo(ENTERED);
                 startSignal.await();
-                printThreadInfo("in progress...");
+                printThreadInfo(IN_PROGRESS);
                 TimeUnit.MILLISECONDS.sleep((long) (Math.random() * 1000));
-                printThreadInfo("done");
+                printThreadInfo(DONE);
                 doneSignal.countDown();
             } catch (InterruptedException e) {
                 e.printStackTrace();
             }
         };
 
-        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        ExecutorService executor = ThreadMode.current().newExecutor(numberOfThreads);
         for (int i = 0; i < numberOfThreads; i++) {
             executor.execute(runnable);
         }
 
         try {
-            printThreadInfo("main thread");
+            printThreadInfo(MAIN);
             TimeUnit.SECONDS.sleep(1);
             startSignal.countDown();
-            printThreadInfo("signal start");
+            printThreadInfo(SIGNAL_START);
             doneSignal.await();
             executor.shutdown();
-            printThreadInfo("all threads done");
+            printThreadInfo(ALL_DONE);
+            executor.awaitTermination(1, TimeUnit.MINUTES);  // nothing may log after the logger closes
         } catch (InterruptedException e) {
             e.printStackTrace();
+        } finally {
+            LOG.close();
         }
-
     }
 
-    static void printThreadInfo(String msg) {
-        System.out.println(System.currentTimeMillis() + ": " + Thread.currentThread() + ": " + msg);
+    static void printThreadInfo(int message) {
+        LOG.log(message);
     }
 }
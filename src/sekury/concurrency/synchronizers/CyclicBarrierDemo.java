@@ -1,12 +1,16 @@
 package sekury.concurrency.synchronizers;
 
+import sekury.concurrency.threads.ThreadMode;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
 
 public class CyclicBarrierDemo {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         final int parties = 5;
         CyclicBarrier barrier = new CyclicBarrier(parties,
                 () -> System.out.println(Thread.currentThread().getName() + ": All threads are done!"));
@@ -22,14 +26,19 @@ public class CyclicBarrierDemo {
             System.out.println(Thread.currentThread().getName() + ": Done.");
         };
 
+        List<Thread> started = new ArrayList<>();
         for (int n = 0; n < 2; n++) {
             Thread[] threads = new Thread[parties];
             for (int i = 0; i < parties; i++) {
-                threads[i] = new Thread(worker);
+                threads[i] = ThreadMode.current().newThread(worker);
             }
             for (Thread thread : threads) {
                 thread.start();
+                started.add(thread);
             }
         }
+        for (Thread thread : started) {
+            thread.join();  // virtual threads are daemons
+        }
     }
 }
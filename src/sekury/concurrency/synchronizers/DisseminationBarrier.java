@@ -0,0 +1,67 @@
+package sekury.concurrency.synchronizers;
+
+import sekury.concurrency.queues.WaitStrategy;
+
+/**
+ * Dissemination barrier (Hensgen, Finkel and Manber). In round {@code r} party {@code p} signals party
+ * {@code (p + 2^r) mod n} and waits for party {@code (p - 2^r) mod n}; after {@code ceil(log2 n)} rounds every
+ * party has transitively heard from all others. No word is written by more than one party per round, so there
+ * is no contended atomic at all.
+ * <p>
+ * The protocol has no single last party, so a barrier action costs one extra round: party 0 runs it and then
+ * releases the others.
+ */
+public class DisseminationBarrier extends AbstractSpinBarrier {
+
+    private static final int PARITY = 1;
+    private static final int SENSE = 2;
+
+    private final int rounds;
+    private final int rowLength;
+    private final int[] flags;
+    private final int[] release = new int[STRIDE];
+
+    public DisseminationBarrier(int parties) {
+        this(parties, WaitStrategy.yielding(), null);
+    }
+
+    public DisseminationBarrier(int parties, WaitStrategy waitStrategy, Runnable action) {
+        super(parties, waitStrategy, action);
+        this.rounds = parties == 1 ? 0 : 32 - Integer.numberOfLeadingZeros(parties - 1);
+        // a row holds both parities of one party, padded to whole cache lines
+        this.rowLength = (2 * rounds + STRIDE - 1) / STRIDE * STRIDE + STRIDE;
+        this.flags = new int[parties * rowLength];
+        for (int party = 0; party < parties; party++) {
+            setLocalWord(party, SENSE, 1);
+        }
+    }
+
+    @Override
+    public void await(int party) throws InterruptedException {
+        checkParty(party);
+        int parity = localWord(party, PARITY);
+        int sense = localWord(party, SENSE);
+        for (int round = 0, distance = 1; round < rounds; round++, distance <<= 1) {
+            int partner = (party + distance) % parties;
+            signal(flags, flag(partner, parity, round), sense);
+            waitFor(flags, flag(party, parity, round), sense);
+        }
+        if (action != null) {
+            int releaseSense = flipSense(party);
+            if (party == 0) {
+                runAction();
+                signal(release, 0, releaseSense);
+            } else {
+                waitFor(release, 0, releaseSense);
+            }
+        }
+        if (parity == 1) {
+            setLocalWord(party, SENSE, 1 - sense);
+        }
+        setLocalWord(party, PARITY, 1 - parity);
+    }
+
+    private int flag(int party, int parity, int round) {
+        return party * rowLength + parity * rounds + round;
+    }
+}
@@ -1,5 +1,7 @@
 package sekury.concurrency.synchronizers;
 
+import sekury.concurrency.threads.ThreadMode;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -46,7 +48,7 @@ public class ExchangerDemo {
         }
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
 
         final Exchanger<Data> dataExchanger = new Exchanger<>();
 
@@ -87,7 +89,11 @@ public class ExchangerDemo {
             }
         };
 
-        new Thread(producer).start();
-        new Thread(consumer).start();
+        Thread producerThread = ThreadMode.current().newThread(producer);
+        Thread consumerThread = ThreadMode.current().newThread(consumer);
+        producerThread.start();
+        consumerThread.start();
+        producerThread.join();  // virtual threads are daemons
+        consumerThread.join();
     }
 }
@@ -1,11 +1,16 @@
 package sekury.concurrency.synchronizers;
 
+import sekury.concurrency.threads.ThreadMode;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Phaser;
 import java.util.concurrent.TimeUnit;
 
 public class PhaserDemo {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         Phaser phaser = new Phaser(1);  // register self
+        List<Thread> threads = new ArrayList<>();
 
         for (int i = 0; i < 10; i++) {
 
@@ -22,10 +27,15 @@ public class PhaserDemo {
                 }
             };
 
-            Thread thread = new Thread(worker);
+            Thread thread = ThreadMode.current().newThread(worker);
             thread.start();
+            threads.add(thread);
         }
 
         phaser.arriveAndDeregister();           // deregister self
+
+        for (Thread thread : threads) {
+            thread.join();                      // virtual threads are daemons
+        }
     }
 }
@@ -1,12 +1,16 @@
 package sekury.concurrency.synchronizers;
 
+import sekury.concurrency.threads.ThreadMode;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 public class SemaphoreDemo {
 
-    static class SharedDataPool {
+    public static class SharedDataPool {
 
         private static final int MAX_PERMITS = 5;
 
@@ -51,7 +55,7 @@ public class SemaphoreDemo {
         }
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         SharedDataPool sharedDataPool = new SharedDataPool();
         Runnable runnable = () -> {
             try {
@@ -66,9 +70,14 @@ public class SemaphoreDemo {
                 e.printStackTrace();
             }
         };
+        List<Thread> threads = new ArrayList<>();
         for (int i = 0; i < 10; i++) {
-            Thread thread = new Thread(runnable);
+            Thread thread = ThreadMode.current().newThread(runnable);
             thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();  // virtual threads are daemons
         }
     }
 }
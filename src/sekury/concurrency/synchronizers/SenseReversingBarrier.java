@@ -0,0 +1,37 @@
+package sekury.concurrency.synchronizers;
+
+import sekury.concurrency.queues.WaitStrategy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Centralized barrier: every party decrements one counter and spins on one shared sense flag, which the last
+ * party to arrive flips. Each crossing takes O(1) steps for the last party, but all parties hit the same counter.
+ */
+public class SenseReversingBarrier extends AbstractSpinBarrier {
+
+    private final AtomicInteger count;
+    private final int[] sense = new int[STRIDE];
+
+    public SenseReversingBarrier(int parties) {
+        this(parties, WaitStrategy.yielding(), null);
+    }
+
+    public SenseReversingBarrier(int parties, WaitStrategy waitStrategy, Runnable action) {
+        super(parties, waitStrategy, action);
+        this.count = new AtomicInteger(parties);
+    }
+
+    @Override
+    public void await(int party) throws InterruptedException {
+        checkParty(party);
+        int localSense = flipSense(party);
+        if (count.decrementAndGet() == 0) {
+            count.set(parties);
+            runAction();
+            signal(sense, 0, localSense);
+        } else {
+            waitFor(sense, 0, localSense);
+        }
+    }
+}
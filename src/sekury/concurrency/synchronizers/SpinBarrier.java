@@ -0,0 +1,19 @@
+package sekury.concurrency.synchronizers;
+
+/**
+ * Reusable barrier for a fixed set of parties that wait by spinning (see {@link sekury.concurrency.queues.WaitStrategy})
+ * rather than by taking a lock. Each party identifies itself by an index, so that per-party state needs no lookup.
+ * <p>
+ * A barrier whose waiting thread has been interrupted is left broken and must not be used again.
+ */
+public interface SpinBarrier {
+
+    int getParties();
+
+    /**
+     * Waits until all parties have arrived. If there is a barrier action, it has completed when this returns.
+     *
+     * @param party index of the calling party in {@code [0, getParties())}, each party must use its own
+     */
+    void await(int party) throws InterruptedException;
+}
@@ -0,0 +1,49 @@
+package sekury.concurrency.synchronizers;
+
+import sekury.concurrency.queues.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SpinBarrierDemo {
+
+    private static final int PARTIES = 4;
+    private static final int ITERATIONS = 10_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        AtomicInteger generations = new AtomicInteger();
+        Runnable action = generations::incrementAndGet;
+        WaitStrategy waitStrategy = WaitStrategy.parking(1000);
+
+        run(new SenseReversingBarrier(PARTIES, waitStrategy, action), generations);
+        run(new DisseminationBarrier(PARTIES, waitStrategy, action), generations);
+        run(new TournamentBarrier(PARTIES, waitStrategy, action), generations);
+    }
+
+    private static void run(SpinBarrier barrier, AtomicInteger generations) throws InterruptedException {
+        generations.set(0);
+        Thread[] threads = new Thread[PARTIES];
+        for (int i = 0; i < PARTIES; i++) {
+            int party = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    for (int n = 0; n < ITERATIONS; n++) {
+                        barrier.await(party);
+                    }
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        System.out.printf("%s: %d generations, %d ns per crossing%n", barrier.getClass().getSimpleName(),
+                generations.get(), elapsed * 1000 / ITERATIONS);
+    }
+}
@@ -0,0 +1,51 @@
+package sekury.concurrency.synchronizers;
+
+import sekury.concurrency.queues.WaitStrategy;
+
+/**
+ * Static tournament barrier. In round {@code r} the party whose index is a multiple of {@code 2^(r+1)} waits for
+ * the party {@code 2^r} above it, which then drops out and waits for the release. Party 0 wins the tournament
+ * once everybody has arrived, runs the barrier action and flips a global release flag.
+ * Each arrival flag has exactly one writer and one reader.
+ */
+public class TournamentBarrier extends AbstractSpinBarrier {
+
+    private final int rounds;
+    private final int rowLength;
+    private final int[] arrivals;
+    private final int[] release = new int[STRIDE];
+
+    public TournamentBarrier(int parties) {
+        this(parties, WaitStrategy.yielding(), null);
+    }
+
+    public TournamentBarrier(int parties, WaitStrategy waitStrategy, Runnable action) {
+        super(parties, waitStrategy, action);
+        this.rounds = parties == 1 ? 0 : 32 - Integer.numberOfLeadingZeros(parties - 1);
+        this.rowLength = (rounds + STRIDE - 1) / STRIDE * STRIDE + STRIDE;
+        this.arrivals = new int[parties * rowLength];
+    }
+
+    @Override
+    public void await(int party) throws InterruptedException {
+        checkParty(party);
+        int sense = flipSense(party);
+        for (int round = 0, distance = 1; round < rounds; round++, distance <<= 1) {
+            if ((party & ((distance << 1) - 1)) == 0) {
+                // winner of this round, wait for the opponent if there is one
+                int opponent = party + distance;
+                if (opponent < parties) {
+                    waitFor(arrivals, party * rowLength + round, sense);
+                }
+            } else {
+                // loser, report to the winner and wait for the release
+                int winner = party - distance;
+                signal(arrivals, winner * rowLength + round, sense);
+                waitFor(release, 0, sense);
+                return;
+            }
+        }
+        runAction();
+        signal(release, 0, sense);
+    }
+}
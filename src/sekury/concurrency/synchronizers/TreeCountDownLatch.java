@@ -0,0 +1,159 @@
+package sekury.concurrency.synchronizers;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Countdown latch with the {@link CountDownLatch} contract whose count is split over a combining tree.
+ * <p>
+ * Threads count down padded leaves chosen by thread id, so thousands of parties do not all hit one word. When a leaf
+ * reaches zero it counts down its parent, and so on up to the root, which opens a gate for the waiting threads.
+ * A thread whose leaf is already exhausted moves on to the next leaf.
+ */
+public class TreeCountDownLatch {
+
+    private static final int DEFAULT_ARITY = 8;
+
+    private final Node[] leaves;
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    public TreeCountDownLatch(int count) {
+        this(count, Runtime.getRuntime().availableProcessors() * 4, DEFAULT_ARITY);
+    }
+
+    /**
+     * @param count  number of {@link #countDown()} calls needed to open the latch
+     * @param stripes maximum number of leaves
+     * @param arity  number of children combined by each inner node
+     */
+    public TreeCountDownLatch(int count, int stripes, int arity) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0");
+        }
+        if (stripes <= 0 || arity < 2) {
+            throw new IllegalArgumentException("stripes=" + stripes + ", arity=" + arity);
+        }
+        if (count == 0) {
+            this.leaves = new Node[0];
+            gate.countDown();
+            return;
+        }
+        int leafCount = Math.min(count, stripes);
+        this.leaves = new Node[leafCount];
+        for (int i = 0; i < leafCount; i++) {
+            // spread the count as evenly as possible
+            leaves[i] = new Node(count / leafCount + (i < count % leafCount ? 1 : 0));
+        }
+        Node[] level = leaves;
+        while (level.length > 1) {
+            Node[] parents = new Node[(level.length + arity - 1) / arity];
+            for (int i = 0; i < parents.length; i++) {
+                int children = Math.min(arity, level.length - i * arity);
+                parents[i] = new Node(children);
+                for (int j = 0; j < children; j++) {
+                    level[i * arity + j].parent = parents[i];
+                }
+            }
+            level = parents;
+        }
+    }
+
+    public void countDown() {
+        if (gate.getCount() == 0) {
+            return;
+        }
+        int n = leaves.length;
+        int start = (int) (((Thread.currentThread().getId() * 0x9E3779B9L) >>> 16) % n);
+        for (int i = 0; i < n; i++) {
+            int index = start + i;
+            Node leaf = leaves[index >= n ? index - n : index];
+            int result = leaf.decrement();
+            if (result >= 0) {
+                if (result == 0) {
+                    propagate(leaf.parent);
+                }
+                return;
+            }
+        }
+    }
+
+    public void await() throws InterruptedException {
+        gate.await();
+    }
+
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return gate.await(timeout, unit);
+    }
+
+    /**
+     * Sum of the leaf counts; not a consistent snapshot while threads count down.
+     */
+    public long getCount() {
+        if (gate.getCount() == 0) {
+            return 0;
+        }
+        long count = 0;
+        for (Node leaf : leaves) {
+            count += leaf.count;
+        }
+        return count;
+    }
+
+    private void propagate(Node node) {
+        while (node != null) {
+            if (node.decrement() != 0) {
+                return;
+            }
+            node = node.parent;
+        }
+        gate.countDown();
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[Count = " + getCount() + "]";
+    }
+
+    static class NodeLhs {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    static class NodeCount extends NodeLhs {
+        volatile int count;
+    }
+
+    static final class Node extends NodeCount {
+        long p11, p12, p13, p14, p15, p16, p17;
+        Node parent;
+
+        private static final VarHandle COUNT;
+
+        static {
+            try {
+                COUNT = MethodHandles.lookup().findVarHandle(NodeCount.class, "count", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        Node(int count) {
+            this.count = count;
+        }
+
+        /**
+         * @return the new count, or -1 if the count was already zero
+         */
+        int decrement() {
+            int c;
+            do {
+                c = count;
+                if (c == 0) {
+                    return -1;
+                }
+            } while (!COUNT.compareAndSet(this, c, c - 1));
+            return c - 1;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package sekury.concurrency.synchronizers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class TreeCountDownLatchDemo {
+
+    public static void main(String[] args) throws InterruptedException {
+        final int shards = 4096;
+        final TreeCountDownLatch startSignal = new TreeCountDownLatch(1);
+        final TreeCountDownLatch doneSignal = new TreeCountDownLatch(shards);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        for (int i = 0; i < shards; i++) {
+            executor.execute(() -> {
+                try {
+                    startSignal.await();
+                    // warm up a shard
+                    doneSignal.countDown();
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        startSignal.countDown();
+        if (doneSignal.await(10, TimeUnit.SECONDS)) {
+            System.out.printf("%d shards warmed up in %d us%n", shards,
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        } else {
+            System.out.println("Timed out, remaining: " + doneSignal.getCount());
+        }
+        executor.shutdown();
+    }
+}
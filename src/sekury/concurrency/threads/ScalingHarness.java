@@ -0,0 +1,184 @@
+package sekury.concurrency.threads;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import sekury.concurrency.essentials.JavaThreadSyncDemo;
+import sekury.concurrency.synchronizers.SemaphoreDemo;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the demo scenarios with many short tasks on a platform thread pool and on virtual threads, and prints the
+ * throughput, the peak memory footprint and the number of times a virtual thread blocked while pinned to its
+ * carrier.
+ * <p>
+ * Usage: {@code ScalingHarness [tasks] [poolSize]}, by default 100000 tasks and 200 platform threads. Virtual
+ * threads and pinning events need a Java 21 runtime; on older runtimes only the platform mode runs.
+ */
+public class ScalingHarness {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int STRIPES = 64;
+
+    interface Scenario {
+        void run(int task) throws InterruptedException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int poolSize = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        SemaphoreDemo.SharedDataPool pool = new SemaphoreDemo.SharedDataPool();
+        JavaThreadSyncDemo.Counter counter = new JavaThreadSyncDemo.Counter();
+        Object[] monitors = new Object[STRIPES];
+        ReentrantLock[] locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            monitors[i] = new Object();
+            locks[i] = new ReentrantLock();
+        }
+
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        // blocking call without locks, as in LockDemo and ConditionDemo
+        scenarios.put("sleep", task -> TimeUnit.MILLISECONDS.sleep(10));
+        // short synchronized sections around a semaphore, as in SemaphoreDemo
+        scenarios.put("sharedDataPool", task -> pool.putItem(pool.getItem()));
+        // synchronized increment, as in JavaThreadSyncDemo, then a blocking call outside of it
+        scenarios.put("synchronizedCounter", task -> {
+            counter.getNext();
+            TimeUnit.MILLISECONDS.sleep(10);
+        });
+        // blocking inside synchronized pins a virtual thread to its carrier
+        scenarios.put("parkInSynchronized", task -> {
+            synchronized (monitors[task % STRIPES]) {
+                LockSupport.parkNanos(100_000);
+            }
+        });
+        // the same with a ReentrantLock unmounts the virtual thread instead
+        scenarios.put("parkInReentrantLock", task -> {
+            ReentrantLock lock = locks[task % STRIPES];
+            lock.lock();
+            try {
+                LockSupport.parkNanos(100_000);
+            } finally {
+                lock.unlock();
+            }
+        });
+
+        System.out.printf("%d tasks, %d platform threads, Java %s%n", tasks, poolSize,
+                System.getProperty("java.version"));
+        System.out.printf("%-22s %-9s %10s %12s %12s %8s%n",
+                "scenario", "mode", "millis", "tasks/s", "peak MB", "pinned");
+        for (Map.Entry<String, Scenario> entry : scenarios.entrySet()) {
+            for (ThreadMode mode : ThreadMode.values()) {
+                if (mode == ThreadMode.VIRTUAL && !ThreadMode.isVirtualSupported()) {
+                    continue;
+                }
+                run(entry.getKey(), entry.getValue(), mode, tasks, poolSize);
+            }
+        }
+    }
+
+    private static void run(String name, Scenario scenario, ThreadMode mode, int tasks, int poolSize)
+            throws Exception {
+        System.gc();
+        MemorySampler memory = new MemorySampler();
+        memory.start();
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO);
+            recording.start();
+
+            long start = System.nanoTime();
+            ExecutorService executor = mode.newExecutor(poolSize);
+            for (int i = 0; i < tasks; i++) {
+                int task = i;
+                executor.execute(() -> {
+                    try {
+                        scenario.run(task);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.HOURS);
+            long nanos = System.nanoTime() - start;
+
+            recording.stop();
+            memory.interrupt();
+            memory.join();
+            System.out.printf("%-22s %-9s %10d %12.0f %12.1f %8d%n", name, mode.name().toLowerCase(),
+                    nanos / 1_000_000, tasks * 1e9 / nanos, memory.peakBytes / 1e6, countPinned(recording));
+        }
+    }
+
+    private static long countPinned(Recording recording) throws IOException {
+        Path file = Files.createTempFile("scaling-harness", ".jfr");
+        try {
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            return events.stream().filter(e -> e.getEventType().getName().equals(PINNED_EVENT)).count();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Tracks the largest growth of the resident set size over the run. Falls back to heap and non-heap usage
+     * where {@code /proc} is not available, which does not see platform thread stacks.
+     */
+    private static final class MemorySampler extends Thread {
+        private static final Path STATUS = Paths.get("/proc/self/status");
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final long baseline = footprint();
+        private volatile long peakBytes;
+
+        MemorySampler() {
+            super("memory-sampler");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            do {
+                peakBytes = Math.max(peakBytes, footprint() - baseline);
+            } while (sleep());
+        }
+
+        private static boolean sleep() {
+            try {
+                Thread.sleep(10);
+                return true;
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+
+        private long footprint() {
+            try {
+                for (String line : Files.readAllLines(STATUS)) {
+                    if (line.startsWith("VmRSS:")) {
+                        return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // not Linux
+            }
+            return memory.getHeapMemoryUsage().getUsed() + memory.getNonHeapMemoryUsage().getUsed();
+        }
+    }
+}
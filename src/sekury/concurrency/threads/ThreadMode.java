@@ -0,0 +1,113 @@
+package sekury.concurrency.threads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Kind of threads a demo runs on. Pick one with {@code -Dsekury.threads=platform|virtual}.
+ * <p>
+ * The project compiles for Java 17, so virtual threads are created reflectively and need a Java 21 runtime.
+ */
+public enum ThreadMode {
+
+    PLATFORM {
+        @Override
+        public ThreadFactory factory(String prefix) {
+            return new ThreadFactory() {
+                private int count;
+
+                @Override
+                public synchronized Thread newThread(Runnable r) {
+                    return new Thread(r, prefix + count++);
+                }
+            };
+        }
+
+        @Override
+        public ExecutorService newExecutor(int platformThreads) {
+            return Executors.newFixedThreadPool(platformThreads);
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable);
+        }
+    },
+
+    VIRTUAL {
+        private ThreadFactory threads;
+
+        @Override
+        public ThreadFactory factory(String prefix) {
+            try {
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+                return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw unsupported(e);
+            }
+        }
+
+        /**
+         * Starts a new virtual thread per task; {@code platformThreads} is ignored.
+         */
+        @Override
+        public ExecutorService newExecutor(int platformThreads) {
+            try {
+                Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                return (ExecutorService) method.invoke(null, factory("virtual-thread-"));
+            } catch (ReflectiveOperationException e) {
+                throw unsupported(e);
+            }
+        }
+
+        @Override
+        public synchronized Thread newThread(Runnable runnable) {
+            if (threads == null) {
+                threads = factory("virtual-");
+            }
+            return threads.newThread(runnable);
+        }
+    };
+
+    public static final String PROPERTY = "sekury.threads";
+
+    /**
+     * Creates threads named {@code prefix} followed by a counter. Threads are not started.
+     */
+    public abstract ThreadFactory factory(String prefix);
+
+    /**
+     * Creates an executor for the demos: a fixed pool of {@code platformThreads} platform threads, or a
+     * virtual thread per task.
+     */
+    public abstract ExecutorService newExecutor(int platformThreads);
+
+    /**
+     * Creates an unstarted thread, named like {@code new Thread(runnable)} would for platform threads.
+     */
+    public abstract Thread newThread(Runnable runnable);
+
+    public static ThreadMode current() {
+        return valueOf(System.getProperty(PROPERTY, "platform").toUpperCase());
+    }
+
+    public static boolean isVirtualSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static UnsupportedOperationException unsupported(ReflectiveOperationException e) {
+        Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+        return new UnsupportedOperationException("Virtual threads need Java 21 or later, running "
+                + System.getProperty("java.version"), cause);
+    }
+}
@@ -0,0 +1,73 @@
+package sekury.concurrency.timers;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A task scheduled on a {@link TimingWheel}. It is linked into the wheel directly, so scheduling and cancelling
+ * need no other allocation.
+ */
+public final class Timeout implements Runnable {
+
+    private static final int INIT = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Timeout.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    final TimingWheel wheel;
+    final Runnable task;
+    final long deadline; // nanos since the wheel started
+    private volatile int state;
+
+    // owned by the wheel thread
+    Timeout prev;
+    Timeout next;
+    TimingWheel.Bucket bucket;
+
+    // intrusive stacks handed to the wheel thread
+    Timeout nextPending;
+    Timeout nextCancelled;
+
+    Timeout(TimingWheel wheel, Runnable task, long deadline) {
+        this.wheel = wheel;
+        this.task = task;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Prevents the task from running. Returns false if it already ran, is running or was cancelled before.
+     * The timeout is unlinked from the wheel on its next tick.
+     */
+    public boolean cancel() {
+        if (!STATE.compareAndSet(this, INIT, CANCELLED)) {
+            return false;
+        }
+        wheel.cancelled(this);
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    public boolean isExpired() {
+        return state == EXPIRED;
+    }
+
+    boolean expire() {
+        return STATE.compareAndSet(this, INIT, EXPIRED);
+    }
+
+    @Override
+    public void run() {
+        task.run();
+    }
+}
@@ -0,0 +1,281 @@
+package sekury.concurrency.timers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hierarchical hashed timing wheel. Level 0 has one bucket per tick, and every higher level has buckets as wide
+ * as a whole turn of the level below. A timeout goes into the lowest level whose turn reaches its deadline; when
+ * the wheel thread enters the time span of a higher-level bucket, it moves that bucket's timeouts down a level.
+ * <p>
+ * {@link #schedule} and {@link Timeout#cancel} only push the timeout on a lock-free stack for the wheel thread,
+ * and the wheel thread links or unlinks it in its bucket list, all in constant time no matter how many timeouts
+ * are pending. Timeouts fire up to one tick late. The timeouts expiring in one tick are handed to the executor in
+ * batches rather than one task each; a batch the executor rejects runs on the wheel thread instead.
+ */
+public class TimingWheel implements AutoCloseable {
+
+    private static final int BATCH = 256;
+
+    private final long tickNanos;
+    private final int bits;
+    private final int mask;
+    private final Bucket[][] levels;
+    private final Executor executor;
+    private final long startTime = System.nanoTime();
+    private final AtomicReference<Timeout> pending = new AtomicReference<>();
+    private final AtomicReference<Timeout> cancelled = new AtomicReference<>();
+    private final LongAdder size = new LongAdder();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // wheel thread only
+    private long tick;
+
+    /**
+     * @param wheelSize buckets per level, a power of two
+     */
+    public TimingWheel(long tickDuration, TimeUnit unit, int wheelSize, Executor executor) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive: " + tickDuration);
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.executor = executor;
+        int count = (63 + bits - 1) / bits; // enough levels for any long tick
+        this.levels = new Bucket[count][wheelSize];
+        for (Bucket[] level : levels) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = new Bucket();
+            }
+        }
+        this.thread = new Thread(this::runWheel, "timing-wheel");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs the task on the executor once the delay has passed.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Closed");
+        }
+        long elapsed = System.nanoTime() - startTime;
+        long delayNanos = Math.max(0, unit.toNanos(delay));
+        long deadline = delayNanos > Long.MAX_VALUE - elapsed ? Long.MAX_VALUE : elapsed + delayNanos;
+        Timeout timeout = new Timeout(this, task, deadline);
+        size.increment();
+        push(pending, timeout, true);
+        return timeout;
+    }
+
+    /**
+     * Timeouts that were scheduled and neither expired nor cancelled yet.
+     */
+    public long size() {
+        return size.sum();
+    }
+
+    /**
+     * Stops the wheel thread. Pending timeouts never run.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void cancelled(Timeout timeout) {
+        size.decrement();
+        push(cancelled, timeout, false);
+    }
+
+    private static void push(AtomicReference<Timeout> stack, Timeout timeout, boolean pending) {
+        Timeout head;
+        do {
+            head = stack.get();
+            if (pending) {
+                timeout.nextPending = head;
+            } else {
+                timeout.nextCancelled = head;
+            }
+        } while (!stack.compareAndSet(head, timeout));
+    }
+
+    private void runWheel() {
+        List<Timeout> batch = new ArrayList<>(BATCH);
+        while (running) {
+            long due = tick * tickNanos;
+            long now = System.nanoTime() - startTime;
+            if (now < due) {
+                LockSupport.parkNanos(due - now);
+                continue;
+            }
+            transferPending();
+            removeCancelled();
+            cascade();
+            expire(levels[0][(int) tick & mask], batch);
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        for (Timeout t = pending.getAndSet(null); t != null; ) {
+            Timeout next = t.nextPending;
+            t.nextPending = null;
+            if (!t.isCancelled()) {
+                place(t);
+            }
+            t = next;
+        }
+    }
+
+    private void removeCancelled() {
+        for (Timeout t = cancelled.getAndSet(null); t != null; ) {
+            Timeout next = t.nextCancelled;
+            t.nextCancelled = null;
+            if (t.bucket != null) {
+                t.bucket.remove(t);
+            }
+            t = next;
+        }
+    }
+
+    /**
+     * Puts the timeout into the lowest level where its deadline is less than one turn of buckets ahead.
+     */
+    private void place(Timeout timeout) {
+        long deadline = timeout.deadline;
+        long deadlineTick = Math.max(tick, deadline / tickNanos + (deadline % tickNanos == 0 ? 0 : 1));
+        for (int level = 0; level < levels.length; level++) {
+            int shift = level * bits;
+            if ((deadlineTick >>> shift) - (tick >>> shift) <= mask) {
+                levels[level][(int) (deadlineTick >>> shift) & mask].add(timeout);
+                return;
+            }
+        }
+        throw new IllegalStateException("Deadline out of range");
+    }
+
+    /**
+     * Moves the timeouts of every higher-level bucket whose time span starts at this tick down a level.
+     */
+    private void cascade() {
+        for (int level = 1; level < levels.length; level++) {
+            int shift = level * bits;
+            if ((tick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Bucket bucket = levels[level][(int) (tick >>> shift) & mask];
+            for (Timeout t = bucket.clear(); t != null; ) {
+                Timeout next = t.next;
+                t.next = null;
+                place(t);
+                t = next;
+            }
+        }
+    }
+
+    private void expire(Bucket bucket, List<Timeout> batch) {
+        for (Timeout t = bucket.clear(); t != null; ) {
+            Timeout next = t.next;
+            t.next = null;
+            if (t.expire()) {
+                size.decrement();
+                batch.add(t);
+                if (batch.size() == BATCH) {
+                    dispatch(batch);
+                }
+            }
+            t = next;
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(List<Timeout> batch) {
+        Timeout[] timeouts = batch.toArray(new Timeout[0]);
+        batch.clear();
+        Runnable run = () -> {
+            for (Timeout timeout : timeouts) {
+                try {
+                    timeout.run();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        };
+        try {
+            executor.execute(run);
+        } catch (RejectedExecutionException e) {
+            run.run();
+        }
+    }
+
+    /**
+     * Doubly-linked list of timeouts, touched by the wheel thread only.
+     */
+    static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Detaches and returns the whole list, still linked through {@code next}.
+         */
+        Timeout clear() {
+            Timeout first = head;
+            for (Timeout t = first; t != null; t = t.next) {
+                t.bucket = null;
+                t.prev = null;
+            }
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+}
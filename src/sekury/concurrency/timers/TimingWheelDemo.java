@@ -0,0 +1,52 @@
+package sekury.concurrency.timers;
+
+import sekury.concurrency.monitoring.LatencyHistogram;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TimingWheelDemo {
+
+    private static final int TIMEOUTS = 1_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        LatencyHistogram lateness = new LatencyHistogram();
+        AtomicInteger fired = new AtomicInteger();
+
+        try (TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 512, executor)) {
+            long start = System.nanoTime();
+            Timeout[] timeouts = new Timeout[TIMEOUTS];
+            for (int i = 0; i < TIMEOUTS; i++) {
+                long delay = ThreadLocalRandom.current().nextLong(2_000);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+                timeouts[i] = wheel.schedule(() -> {
+                    lateness.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - deadline));
+                    fired.incrementAndGet();
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+            long scheduled = System.nanoTime();
+            // most requests complete before their timeout, the early ones already fired
+            int cancelled = 0;
+            for (int i = 0; i < TIMEOUTS; i += 2) {
+                if (timeouts[i].cancel()) {
+                    cancelled++;
+                }
+            }
+            long end = System.nanoTime();
+            System.out.printf("Scheduled %d timeouts in %d ms, cancelled %d in %d ms%n", TIMEOUTS,
+                    TimeUnit.NANOSECONDS.toMillis(scheduled - start), cancelled,
+                    TimeUnit.NANOSECONDS.toMillis(end - scheduled));
+
+            while (fired.get() + cancelled < TIMEOUTS) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            System.out.printf("Fired %d, lateness in us: %s%n", fired.get(), lateness.snapshot());
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}